@@ -0,0 +1,70 @@
+"""External dependencies & java_jmh_benchmark rule"""
+
+load("@bazel_tools//tools/build_defs/repo:jvm.bzl", "jvm_maven_import_external")
+
+JMH_GROUP_ID = "org.openjdk.jmh"
+JMH_ARTIFACT_ID_LIST = [
+    "jmh-core",
+    "jmh-generator-annprocess",
+]
+
+JMH_EXTRA_DEPENDENCIES = [
+    ("net.sf.jopt-simple", "jopt-simple", "5.0.4"),
+    ("org.apache.commons", "commons-math3", "3.6.1"),
+]
+
+def jmh_java_repositories(
+        version = "1.35"):
+    """Imports dependencies for JMH"""
+    for artifact_id in JMH_ARTIFACT_ID_LIST:
+        jvm_maven_import_external(
+            name = _format_maven_jar_name(JMH_GROUP_ID, artifact_id),
+            artifact = "%s:%s:%s" % (
+                JMH_GROUP_ID,
+                artifact_id,
+                version,
+            ),
+            server_urls = ["https://repo1.maven.org/maven2"],
+            licenses = ["restricted"], # GPL 2.0 with Classpath Exception
+        )
+
+    for t in JMH_EXTRA_DEPENDENCIES:
+        jvm_maven_import_external(
+            name = _format_maven_jar_name(t[0], t[1]),
+            artifact = "%s:%s:%s" % t,
+            server_urls = ["https://repo1.maven.org/maven2"],
+            licenses = ["notice"], # MIT / Apache 2.0 License
+        )
+
+def java_jmh_benchmark(name, srcs, deps = [], runtime_deps = [], jvm_flags = [], **kwargs):
+    """Builds a runnable JMH benchmark binary from annotated benchmark sources"""
+    native.java_plugin(
+        name = name + "_annotation_processor",
+        processor_class = "org.openjdk.jmh.generators.BenchmarkProcessor",
+        deps = [
+            _format_maven_jar_dep_name(JMH_GROUP_ID, artifact_id)
+            for artifact_id in JMH_ARTIFACT_ID_LIST
+        ],
+    )
+
+    native.java_binary(
+        name = name,
+        srcs = srcs,
+        main_class = "org.openjdk.jmh.Main",
+        plugins = [":" + name + "_annotation_processor"],
+        jvm_flags = jvm_flags,
+        deps = deps + [
+            _format_maven_jar_dep_name(JMH_GROUP_ID, "jmh-core"),
+        ],
+        runtime_deps = runtime_deps + [
+            _format_maven_jar_dep_name(t[0], t[1])
+            for t in JMH_EXTRA_DEPENDENCIES
+        ],
+        **kwargs
+    )
+
+def _format_maven_jar_name(group_id, artifact_id):
+    return ("%s_%s" % (group_id, artifact_id)).replace(".", "_").replace("-", "_")
+
+def _format_maven_jar_dep_name(group_id, artifact_id):
+    return "@%s//jar" % _format_maven_jar_name(group_id, artifact_id)
@@ -0,0 +1,60 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deciding a whole batch of evaluations, on one thread and on all cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchBenchmark {
+
+    @Param({"1000"})
+    public int batchSize;
+
+    @Param({"100"})
+    public int numPoints;
+
+    @Param({"CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Batch batch;
+
+    @Setup
+    public void setup() {
+        Parameters parameters = PointSets.parameters(numPoints);
+        Point[] points = PointSets.create(distribution, numPoints);
+        LCM lcm = PointSets.lcm();
+        boolean[] puv = PointSets.puv();
+
+        batch = new Batch(batchSize);
+        for (int i = 0; i < batchSize; i++)
+            batch.add(parameters, points, lcm, puv);
+    }
+
+    @Benchmark
+    public boolean[] decide() {
+        return batch.decide();
+    }
+
+    @Benchmark
+    public boolean[] decideParallel() {
+        return batch.decideParallel();
+    }
+}
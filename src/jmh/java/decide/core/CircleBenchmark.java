@@ -0,0 +1,127 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
+
+/**
+ * Compares the closed-form circle check in MathTools with the original implementation, which constructed the
+ * candidate circles through every pair of points. Every invocation checks all consecutive triples of the points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CircleBenchmark {
+
+    @Param({"100"})
+    public int numPoints;
+
+    @Param({"DEGENERATE", "COLLINEAR", "CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    @Param({"1.0"})
+    public double radius;
+
+    private Point[] points;
+
+    @Setup
+    public void setup() {
+        points = PointSets.create(distribution, numPoints);
+    }
+
+    @Benchmark
+    public void closedForm(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++)
+            blackhole.consume(MathTools.pointsAreCoveredByCircle(points[i], points[i + 1], points[i + 2], radius));
+    }
+
+    // LIC 13 compares every triple against two radii, which only needs one enclosing radius per triple.
+    @Benchmark
+    public void twoRadiiChecked(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++) {
+            blackhole.consume(MathTools.pointsAreCoveredByCircle(points[i], points[i + 1], points[i + 2], radius));
+            blackhole.consume(MathTools.pointsAreCoveredByCircle(points[i], points[i + 1], points[i + 2], 2 * radius));
+        }
+    }
+
+    @Benchmark
+    public void twoRadiiFromEnclosingRadius(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++) {
+            double squaredRadius = MathTools.minimumEnclosingRadiusSquared(points[i].x, points[i].y,
+                    points[i + 1].x, points[i + 1].y, points[i + 2].x, points[i + 2].y);
+            blackhole.consume(MathTools.lengthAtMost(squaredRadius, radius));
+            blackhole.consume(MathTools.lengthAtMost(squaredRadius, 2 * radius));
+        }
+    }
+
+    @Benchmark
+    public void original(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++)
+            blackhole.consume(originalPointsAreCoveredByCircle(points[i], points[i + 1], points[i + 2], radius));
+    }
+
+    // The original implementation of MathTools.pointsAreCoveredByCircle, kept as the baseline.
+    private static boolean originalPointsAreCoveredByCircle(Point p1, Point p2, Point p3, double radius) {
+        if (p1.equals(p2) && p1.equals(p3) && p2.equals(p3)) {
+            return true;
+        }
+        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3)) {
+            Point coincide;
+            Point remaining;
+            if (p1.equals(p2)) {
+                coincide = p1;
+                remaining = p3;
+            } else if (p1.equals(p3)) {
+                coincide = p1;
+                remaining = p2;
+            } else {
+                coincide = p2;
+                remaining = p1;
+            }
+            return Point.euclidianDistanceBetween(coincide, remaining) <= 2 * radius;
+        }
+
+        List<Point.Pair> pairs = new ArrayList<>();
+        for (Point focus : focuses(p1, p2, radius))
+            pairs.add(new Point.Pair(focus, p3));
+        for (Point focus : focuses(p2, p3, radius))
+            pairs.add(new Point.Pair(focus, p1));
+        for (Point focus : focuses(p3, p1, radius))
+            pairs.add(new Point.Pair(focus, p2));
+
+        return pairs.stream()
+                .map(p -> Point.euclidianDistanceBetween(p.getFirst(), p.getSecond()) <= radius)
+                .reduce((a, b) -> a || b)
+                .orElse(false);
+    }
+
+    // The two centers of the circles with the given radius that pass through x and y.
+    private static List<Point> focuses(Point x, Point y, double radius) {
+        double distanceBetweenXY = Point.euclidianDistanceBetween(x, y);
+        Point pointBetweenXY = Point.createPointBetween(x, y);
+        double[] normVector = {(x.y - y.y) / distanceBetweenXY, (y.x - x.x) / distanceBetweenXY};
+        double distanceToFocus = sqrt(pow(radius, 2) - pow(distanceBetweenXY / 2, 2));
+        return List.of(
+                new Point(pointBetweenXY.x + distanceToFocus * normVector[0], pointBetweenXY.y + distanceToFocus * normVector[1]),
+                new Point(pointBetweenXY.x - distanceToFocus * normVector[0], pointBetweenXY.y - distanceToFocus * normVector[1]));
+    }
+}
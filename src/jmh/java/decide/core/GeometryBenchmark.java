@@ -0,0 +1,102 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.Math.PI;
+
+/**
+ * Compares the cross and dot product kernels in Geometry with the original triangle area (Heron's formula) and
+ * angle (law of cosines and arc cosine). Every invocation evaluates all consecutive triples of the points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+
+    @Param({"100"})
+    public int numPoints;
+
+    @Param({"DEGENERATE", "COLLINEAR", "CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    @Param({"0.1"})
+    public double epsilon;
+
+    private Point[] points;
+    private double[] xs;
+    private double[] ys;
+
+    @Setup
+    public void setup() {
+        points = PointSets.create(distribution, numPoints);
+        PointBuffer buffer = PointBuffer.of(points);
+        xs = buffer.xs;
+        ys = buffer.ys;
+    }
+
+    @Benchmark
+    public void shoelaceArea(Blackhole blackhole) {
+        for (int i = 0; i < xs.length - 2; i++)
+            blackhole.consume(Geometry.triangleArea(xs[i], ys[i], xs[i + 1], ys[i + 1], xs[i + 2], ys[i + 2]));
+    }
+
+    @Benchmark
+    public void heronArea(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++)
+            blackhole.consume(originalArea(points[i], points[i + 1], points[i + 2]));
+    }
+
+    @Benchmark
+    public void cosineAngle(Blackhole blackhole) {
+        double cosLimit = Geometry.angleLimit(epsilon);
+        for (int i = 0; i < xs.length - 2; i++)
+            blackhole.consume(Geometry.angleLessThan(xs[i], ys[i], xs[i + 1], ys[i + 1], xs[i + 2], ys[i + 2],
+                    cosLimit));
+    }
+
+    @Benchmark
+    public void arcCosineAngle(Blackhole blackhole) {
+        for (int i = 0; i < points.length - 2; i++) {
+            if (points[i].equals(points[i + 1]) || points[i + 2].equals(points[i + 1])) {
+                blackhole.consume(false);
+                continue;
+            }
+            double angle = originalAngle(points[i], points[i + 1], points[i + 2]);
+            blackhole.consume(angle < PI - epsilon || angle > PI + epsilon);
+        }
+    }
+
+    // The original implementation of Triangle.area with Heron's formula, kept as the baseline.
+    private static double originalArea(Point p1, Point p2, Point p3) {
+        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3))
+            return 0;
+        double a = p1.distance(p2);
+        double b = p1.distance(p3);
+        double c = p2.distance(p3);
+        return 0.25 * Math.sqrt((a + b + c) * (-a + b + c) * (a - b + c) * (a + b - c));
+    }
+
+    // The original implementation of Point.vertexAngle with the law of cosines, kept as the baseline.
+    private static double originalAngle(Point p1, Point vertex, Point p2) {
+        double a = p1.distance(vertex);
+        double b = p2.distance(vertex);
+        double c = p1.distance(p2);
+        return Math.acos((a * a + b * b - c * c) / (2 * a * b));
+    }
+}
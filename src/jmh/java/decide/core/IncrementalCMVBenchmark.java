@@ -0,0 +1,73 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares updating the CMV of a stream by one point, incrementally and by recomputing the CMV of the whole window.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalCMVBenchmark {
+
+    @Param({"100", "1000"})
+    public int numPoints;
+
+    @Param({"CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Parameters parameters;
+    private Point[] stream;
+    private IncrementalCMV incremental;
+
+    // The window that is recomputed from scratch, kept in the same order as the incremental buffer.
+    private Point[] window;
+    private int next;
+
+    @Setup
+    public void setup() {
+        parameters = PointSets.parameters(numPoints);
+        stream = PointSets.create(distribution, 2 * numPoints);
+        incremental = new IncrementalCMV(parameters, numPoints);
+        window = new Point[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            incremental.append(stream[i]);
+            window[i] = stream[i];
+        }
+        next = numPoints;
+    }
+
+    @Benchmark
+    public boolean incremental() {
+        incremental.append(nextPoint());
+        return incremental.get(CMV.CMV_SIZE - 1);
+    }
+
+    @Benchmark
+    public boolean recompute() {
+        System.arraycopy(window, 1, window, 0, window.length - 1);
+        window[window.length - 1] = nextPoint();
+        return new CMV(parameters, window).get(CMV.CMV_SIZE - 1);
+    }
+
+    private Point nextPoint() {
+        Point point = stream[next];
+        next = (next + 1) % stream.length;
+        return point;
+    }
+}
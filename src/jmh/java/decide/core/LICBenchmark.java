@@ -0,0 +1,123 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each Launch Interceptor Condition (LIC) in isolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LICBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int numPoints;
+
+    @Param({"DEGENERATE", "COLLINEAR", "CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Parameters parameters;
+    private PointBuffer points;
+
+    @Setup
+    public void setup() {
+        parameters = PointSets.parameters(numPoints);
+        points = PointBuffer.of(PointSets.create(distribution, numPoints));
+    }
+
+    // A CMV keeps the distances, areas and circles that its LICs have computed, so every invocation gets a new lazy
+    // CMV, which computes nothing until its LIC is called.
+    private CMV cmv() {
+        return CMV.lazy(parameters, points);
+    }
+
+    @Benchmark
+    public boolean lic0() {
+        return cmv().lic0();
+    }
+
+    @Benchmark
+    public boolean lic1() {
+        return cmv().lic1();
+    }
+
+    @Benchmark
+    public boolean lic2() {
+        return cmv().lic2();
+    }
+
+    @Benchmark
+    public boolean lic3() {
+        return cmv().lic3();
+    }
+
+    @Benchmark
+    public boolean lic4() {
+        return cmv().lic4();
+    }
+
+    @Benchmark
+    public boolean lic5() {
+        return cmv().lic5();
+    }
+
+    @Benchmark
+    public boolean lic6() {
+        return cmv().lic6();
+    }
+
+    @Benchmark
+    public boolean lic7() {
+        return cmv().lic7();
+    }
+
+    @Benchmark
+    public boolean lic8() {
+        return cmv().lic8();
+    }
+
+    @Benchmark
+    public boolean lic9() {
+        return cmv().lic9();
+    }
+
+    @Benchmark
+    public boolean lic10() {
+        return cmv().lic10();
+    }
+
+    @Benchmark
+    public boolean lic11() {
+        return cmv().lic11();
+    }
+
+    @Benchmark
+    public boolean lic12() {
+        return cmv().lic12();
+    }
+
+    @Benchmark
+    public boolean lic13() {
+        return cmv().lic13();
+    }
+
+    @Benchmark
+    public boolean lic14() {
+        return cmv().lic14();
+    }
+}
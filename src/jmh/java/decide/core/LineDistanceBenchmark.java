@@ -0,0 +1,87 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares LIC 6, which skips the windows whose bounding box is within DIST of the line, with the original
+ * implementation, which checked every point of every window against the line y = m*x + k. DIST is large enough
+ * that few windows satisfy the LIC, so both implementations look at most windows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineDistanceBenchmark {
+
+    @Param({"1000", "10000"})
+    public int numPoints;
+
+    @Param({"10", "50", "100"})
+    public int nPts;
+
+    @Param({"COLLINEAR", "CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    @Param({"100.0"})
+    public double dist;
+
+    private Parameters parameters;
+    private Point[] points;
+    private CMV cmv;
+
+    @Setup
+    public void setup() {
+        parameters = PointSets.parameters(numPoints);
+        parameters.N_PTS = nPts;
+        parameters.DIST = dist;
+        points = PointSets.create(distribution, numPoints);
+        cmv = new CMV(parameters, points);
+    }
+
+    @Benchmark
+    public boolean pruned() {
+        return cmv.lic6();
+    }
+
+    @Benchmark
+    public boolean original() {
+        return originalLic6(parameters, points);
+    }
+
+    // The original implementation of CMV.lic6, kept as the baseline.
+    private static boolean originalLic6(Parameters parameters, Point[] points) {
+        for (int first = 0; first < points.length - parameters.N_PTS + 1; first++) {
+            int last = first + parameters.N_PTS - 1;
+
+            if (points[first].equals(points[last])) {
+                for (int i = first + 1; i < last; i++) {
+                    if (points[i].distance(points[first]) > parameters.DIST)
+                        return true;
+                }
+            } else {
+                double m = (points[last].y - points[first].y) / (points[last].x - points[first].x);
+                double k = points[first].y - m * points[first].x;
+                for (int i = first + 1; i < last; i++) {
+                    double distance = Math.abs(m * points[i].x - points[i].y + k) / Math.sqrt(m * m + 1);
+                    if (distance > parameters.DIST)
+                        return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the stages of the decision pipeline CMV -> PUM -> FUV, separately and end-to-end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PipelineBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int numPoints;
+
+    @Param({"DEGENERATE", "COLLINEAR", "CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Parameters parameters;
+    private Point[] points;
+    private LCM lcm;
+    private boolean[] puv;
+
+    // Precomputed stages so that PUM and FUV can be measured without the cost of the stages before them.
+    private CMV cmv;
+    private PUM pum;
+
+    // The engine keeps its cost measurements between invocations, like it would in production.
+    private DecisionEngine engine;
+
+    // The plan is compiled once, like it would be for an LCM and PUV that rarely change.
+    private DecisionPlan plan;
+
+    @Setup
+    public void setup() {
+        parameters = PointSets.parameters(numPoints);
+        points = PointSets.create(distribution, numPoints);
+        lcm = PointSets.lcm();
+        puv = PointSets.puv();
+        cmv = new CMV(parameters, points);
+        pum = new PUM(lcm, cmv);
+        engine = new DecisionEngine(lcm, puv);
+        plan = new DecisionPlan(lcm, puv);
+    }
+
+    @Benchmark
+    public CMV cmv() {
+        return new CMV(parameters, points);
+    }
+
+    @Benchmark
+    public CMV cmvParallel() {
+        return new CMV(parameters, points, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public PUM pum() {
+        return new PUM(lcm, cmv);
+    }
+
+    @Benchmark
+    public FUV fuv() {
+        return new FUV(puv, pum);
+    }
+
+    /**
+     * The decision with every LIC computed, without printing the decision.
+     */
+    @Benchmark
+    public boolean decide() {
+        CMV cmv = new CMV(parameters, points);
+        PUM pum = new PUM(lcm, cmv);
+        FUV fuv = new FUV(puv, pum);
+        return fuv.canLaunch();
+    }
+
+    /**
+     * The same work as DECIDE.evaluate(), where only the LICs that the LCM and the PUV refer to are computed.
+     */
+    @Benchmark
+    public boolean decideLazy() {
+        CMV cmv = CMV.lazy(parameters, points);
+        PUM pum = new PUM(lcm, cmv, puv);
+        FUV fuv = new FUV(puv, pum);
+        return fuv.canLaunch();
+    }
+
+    /**
+     * The decision made by the engine that stops as soon as the decision is known.
+     */
+    @Benchmark
+    public boolean decideEngine() {
+        return engine.decide(parameters, points);
+    }
+
+    /**
+     * The decision made by a compiled plan, which only computes the referenced LICs and then looks up the decision.
+     */
+    @Benchmark
+    public boolean decidePlan() {
+        return plan.decide(parameters, points);
+    }
+
+    /**
+     * The PUM and FUV stages replaced by a lookup in a compiled plan, for a CMV that is already computed.
+     */
+    @Benchmark
+    public boolean planLookup() {
+        return plan.decide(cmv);
+    }
+}
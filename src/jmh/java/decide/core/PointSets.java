@@ -0,0 +1,113 @@
+package decide.core;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates reproducible point sets with different geometric distributions for the benchmarks.
+ */
+public class PointSets {
+
+    // Fixed seed so that every benchmark run sees exactly the same points.
+    private static final long SEED = 0x5EED;
+
+    public enum Distribution {
+        // Every point is the same point, which exercises the coincident point special cases.
+        DEGENERATE,
+        // All points lie on a single line, which gives zero areas and straight angles.
+        COLLINEAR,
+        // Points are gathered in a few tight clusters, similar to a handful of slow moving targets.
+        CLUSTERED,
+        // Points are spread uniformly over a square.
+        UNIFORM
+    }
+
+    /**
+     * Creates a point set.
+     * @param distribution the geometric distribution of the points.
+     * @param numPoints the number of points.
+     * @return a vector of 2D points.
+     */
+    public static Point[] create(Distribution distribution, int numPoints) {
+        Random random = new Random(SEED);
+        Point[] points = new Point[numPoints];
+
+        switch (distribution) {
+            case DEGENERATE:
+                for (int i = 0; i < numPoints; i++)
+                    points[i] = new Point(1, 1);
+                break;
+            case COLLINEAR:
+                for (int i = 0; i < numPoints; i++) {
+                    double t = random.nextDouble() * 10;
+                    points[i] = new Point(t, 0.5 * t - 2);
+                }
+                break;
+            case CLUSTERED:
+                Point[] centers = {new Point(-4, 3), new Point(2, 2), new Point(5, -5)};
+                for (int i = 0; i < numPoints; i++) {
+                    Point center = centers[random.nextInt(centers.length)];
+                    points[i] = new Point(center.x + random.nextGaussian() * 0.1, center.y + random.nextGaussian() * 0.1);
+                }
+                break;
+            case UNIFORM:
+                for (int i = 0; i < numPoints; i++)
+                    points[i] = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+                break;
+        }
+
+        return points;
+    }
+
+    /**
+     * Creates parameters that are valid for the given number of points and that are large enough for the
+     * LICs to do a realistic amount of work before they are decided.
+     * @param numPoints the number of points the parameters will be used with.
+     * @return parameters that conform to the requirements specification.
+     */
+    public static Parameters parameters(int numPoints) {
+        Parameters parameters = new Parameters();
+        parameters.LENGTH1 = 15.0;
+        parameters.RADIUS1 = 8.0;
+        parameters.EPSILON = 0.1;
+        parameters.AREA1 = 60.0;
+        parameters.Q_PTS = Math.min(5, numPoints);
+        parameters.QUADS = 3;
+        parameters.DIST = 9.0;
+        parameters.N_PTS = Math.min(10, numPoints);
+        parameters.K_PTS = 2;
+        parameters.A_PTS = 2;
+        parameters.B_PTS = 3;
+        parameters.C_PTS = 1;
+        parameters.D_PTS = 2;
+        parameters.E_PTS = 3;
+        parameters.F_PTS = 1;
+        parameters.G_PTS = 4;
+        parameters.LENGTH2 = 0.01;
+        parameters.RADIUS2 = 0.01;
+        parameters.AREA2 = 0.001;
+        return parameters;
+    }
+
+    /**
+     * Creates an LCM with a mix of ANDD and ORR entries, so the PUM depends on every element of the CMV.
+     * @return an LCM.
+     */
+    public static LCM lcm() {
+        LCM lcm = new LCM();
+        for (int i = 0; i < LCM.LCM_SIZE; i++)
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                lcm.set(i, j, (i + j) % 3 == 0 ? LCM.Value.ANDD : LCM.Value.ORR);
+        return lcm;
+    }
+
+    /**
+     * Creates a PUV where every LIC is considered as a factor in signaling interceptor launch.
+     * @return a PUV.
+     */
+    public static boolean[] puv() {
+        boolean[] puv = new boolean[PUM.PUM_SIZE];
+        Arrays.fill(puv, true);
+        return puv;
+    }
+}
@@ -0,0 +1,60 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the full CMV and LIC 6 scale from 10^2 to 10^6 points, which is beyond the 100 points of the
+ * specification and needs {@link Parameters#verifyExtended}. DIST is large enough that no window of the uniform points
+ * satisfies LIC 6, but not so large that the bounding boxes skip the windows, so every window is looked at.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int numPoints;
+
+    @Param({"10", "100"})
+    public int nPts;
+
+    @Param({"CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Parameters parameters;
+    private PointBuffer points;
+
+    @Setup
+    public void setup() {
+        parameters = PointSets.parameters(numPoints);
+        parameters.N_PTS = Math.min(nPts, numPoints);
+        parameters.DIST = 25.0;
+        points = PointBuffer.of(PointSets.create(distribution, numPoints));
+        Parameters.verifyExtended(parameters, points);
+    }
+
+    @Benchmark
+    public int cmv() {
+        return new CMV(parameters, points).mask();
+    }
+
+    @Benchmark
+    public boolean lic6() {
+        return CMV.lazy(parameters, points).lic6();
+    }
+}
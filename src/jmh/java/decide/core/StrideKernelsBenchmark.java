@@ -0,0 +1,69 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the vector stride kernels. The bounds are chosen so that no window satisfies the
+ * conditions, so every kernel scans all windows. The gain of the vector kernels depends on the SIMD width of the CPU,
+ * e.g. 4 lanes with AVX2 and 8 lanes with AVX-512.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class StrideKernelsBenchmark {
+
+    @Param({"100", "1000", "100000"})
+    public int numPoints;
+
+    @Param({"UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    @Param({"scalar", "vector"})
+    public String kernels;
+
+    @Param({"3"})
+    public int stride;
+
+    private StrideKernels strideKernels;
+    private double[] xs;
+    private double[] ys;
+
+    @Setup
+    public void setup() {
+        strideKernels = Kernels.load(kernels);
+        if (kernels.equals("vector") && strideKernels instanceof ScalarStrideKernels)
+            throw new IllegalStateException("The vector kernels are not available.");
+
+        PointBuffer points = PointBuffer.of(PointSets.create(distribution, numPoints));
+        xs = points.xs;
+        ys = points.ys;
+        // Sorted x-coordinates never decrease, so every window is scanned.
+        Arrays.sort(xs);
+    }
+
+    @Benchmark
+    public boolean distanceGreaterThan() {
+        return strideKernels.anyDistanceGreaterThan(xs, ys, stride, 1e9);
+    }
+
+    @Benchmark
+    public boolean decrease() {
+        return strideKernels.anyDecrease(xs, stride);
+    }
+}
@@ -0,0 +1,77 @@
+package decide.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares computing the CMVs of one vector of points for many sets of thresholds with a sweep, including the
+ * time to create the sweep, with computing a full CMV for each set of thresholds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SweepBenchmark {
+
+    @Param({"100", "10000"})
+    public int numPoints;
+
+    @Param({"1", "100"})
+    public int variants;
+
+    @Param({"CLUSTERED", "UNIFORM"})
+    public PointSets.Distribution distribution;
+
+    private Parameters[] thresholds;
+    private Point[] points;
+
+    @Setup
+    public void setup() {
+        points = PointSets.create(distribution, numPoints);
+        Random random = new Random(42);
+        thresholds = new Parameters[variants];
+        for (int v = 0; v < variants; v++) {
+            Parameters parameters = PointSets.parameters(numPoints);
+            parameters.LENGTH1 *= 2 * random.nextDouble();
+            parameters.RADIUS1 *= 2 * random.nextDouble();
+            parameters.EPSILON *= 2 * random.nextDouble();
+            parameters.AREA1 *= 2 * random.nextDouble();
+            parameters.DIST *= 2 * random.nextDouble();
+            parameters.LENGTH2 *= 2 * random.nextDouble();
+            parameters.RADIUS2 *= 2 * random.nextDouble();
+            parameters.AREA2 *= 2 * random.nextDouble();
+            thresholds[v] = parameters;
+        }
+    }
+
+    @Benchmark
+    public int sweep() {
+        CMVSweep sweep = new CMVSweep(thresholds[0], points);
+        int masks = 0;
+        for (Parameters parameters : thresholds)
+            masks ^= sweep.mask(parameters);
+        return masks;
+    }
+
+    @Benchmark
+    public int cmvPerVariant() {
+        int masks = 0;
+        for (Parameters parameters : thresholds)
+            masks ^= new CMV(parameters, points).mask();
+        return masks;
+    }
+}
@@ -0,0 +1,90 @@
+package decide.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates the launch decision for many independent sets of input in one call.
+ * Each entry in the batch consists of the parameters, the points, the LCM and the PUV of one evaluation.
+ * No output is produced while deciding, the decisions are only returned to the caller.
+ */
+public class Batch {
+
+    private final List<Parameters> parameters;
+    private final List<Point[]> points;
+    private final List<LCM> lcms;
+    private final List<boolean[]> puvs;
+
+    /**
+     * Creates an empty batch.
+     */
+    public Batch() {
+        this(16);
+    }
+
+    /**
+     * Creates an empty batch with room for the given number of entries.
+     * @param capacity the expected number of entries.
+     */
+    public Batch(int capacity) {
+        parameters = new ArrayList<>(capacity);
+        points = new ArrayList<>(capacity);
+        lcms = new ArrayList<>(capacity);
+        puvs = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Adds the input of one evaluation to the batch. The input is not verified, so it should already have
+     * passed {@link Parameters#verify(Parameters, Point[])}.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points a vector of 2D points.
+     * @param lcm the LCM.
+     * @param puv a boolean vector of length 15.
+     */
+    public void add(Parameters parameters, Point[] points, LCM lcm, boolean[] puv) {
+        this.parameters.add(parameters);
+        this.points.add(points);
+        this.lcms.add(lcm);
+        this.puvs.add(puv);
+    }
+
+    /**
+     * Returns the number of entries in the batch.
+     * @return the number of entries.
+     */
+    public int size() {
+        return parameters.size();
+    }
+
+    /**
+     * Decides every entry in the batch on the calling thread.
+     * @return a vector where the ith element is true if the ith entry leads to a launch.
+     */
+    public boolean[] decide() {
+        boolean[] decisions = new boolean[size()];
+        for (int i = 0; i < decisions.length; i++)
+            decisions[i] = decide(i);
+        return decisions;
+    }
+
+    /**
+     * Decides every entry in the batch, splitting the entries across all available cores.
+     * The entries are independent of each other, so the result is the same as for {@link #decide()}.
+     * @return a vector where the ith element is true if the ith entry leads to a launch.
+     */
+    public boolean[] decideParallel() {
+        boolean[] decisions = new boolean[size()];
+        // Each task only writes its own element, and the stream completes before the vector is returned.
+        IntStream.range(0, decisions.length).parallel().forEach(i -> decisions[i] = decide(i));
+        return decisions;
+    }
+
+    // Runs the CMV -> PUM -> FUV pipeline for the ith entry, only computing the LICs that the decision needs.
+    private boolean decide(int i) {
+        CMV cmv = CMV.lazy(parameters.get(i), points.get(i));
+        PUM pum = new PUM(lcms.get(i), cmv, puvs.get(i));
+        FUV fuv = new FUV(puvs.get(i), pum);
+        return fuv.canLaunch();
+    }
+}
@@ -1,23 +1,48 @@
 package decide.core;
 
-import java.util.HashSet;
-import java.util.Set;
-
-import static java.lang.Math.PI;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Represents the Conditions Met Vector (CMV) that stores the result from each Launch Interceptor Condition (LIC).
  */
-public class CMV {
+public final class CMV {
 
     // Size of the CMV vector.
     public static final int CMV_SIZE = 15;
 
+    // The order in which the LICs are started in parallel mode, the most expensive LICs first.
+    // The circle checks in LICs 13, 8 and 1 and the line distances in LIC 6 are the slowest,
+    // the single subtractions in LICs 11 and 5 the fastest.
+    private static final int[] PARALLEL_ORDER = {13, 8, 1, 6, 9, 2, 14, 10, 3, 12, 7, 0, 4, 11, 5};
+
+    // Bit mask with all the LICs set.
+    private static final int ALL_LICS = (1 << CMV_SIZE) - 1;
+
+    // LIC 6 only prunes windows with bounding boxes when each window has at least this many points between its
+    // first and last point, since checking the four corners of a box is no faster than checking a few points.
+    private static final int PRUNE_MIN_POINTS = 8;
+
+    // LIC 6 builds a tree of convex hulls once the windows that had to be scanned without finding a point far enough
+    // away have scanned this many points per point. Until then, the windows are scanned point by point, since the
+    // first scanned window usually has such a point and building the tree takes longer than scanning a few windows.
+    private static final int HULL_TREE_MIN_SCANS = 16;
+
     // The CMV vector contains true/false values for each LIC.
     private final boolean[] cmv = new boolean[CMV_SIZE];
 
-    private Parameters parameters;
-    private Point[] points;
+    // Bit i is set when the ith LIC has been computed and cmv[i] holds its result.
+    private int computed;
+
+    private final Parameters parameters;
+    private final PointBuffer points;
+
+    // The coordinates of the points, read directly by the LICs.
+    private final double[] xs;
+    private final double[] ys;
+
+    // The distances, areas and circles that several LICs share, computed the first time one of them needs them.
+    private final GeometryCache geometry;
 
     /**
      * Creates a new Conditions Met Vector (CMV) and computes all the Launch Interceptor Conditions (LICs).
@@ -25,38 +50,169 @@ public class CMV {
      * @param points a vector of 2D points.
      */
     public CMV(Parameters parameters, Point[] points) {
+        this(parameters, PointBuffer.of(points));
+    }
+
+    /**
+     * Creates a new Conditions Met Vector (CMV) and computes all the Launch Interceptor Conditions (LICs).
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     */
+    public CMV(Parameters parameters, PointBuffer points) {
+        this(parameters, points, 0);
+        computeLICs();
+    }
+
+    /**
+     * Creates a new Conditions Met Vector (CMV) and computes all the Launch Interceptor Conditions (LICs) in parallel.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points a vector of 2D points.
+     * @param pool the pool that computes the LICs.
+     */
+    public CMV(Parameters parameters, Point[] points, ForkJoinPool pool) {
+        this(parameters, PointBuffer.of(points), pool);
+    }
+
+    /**
+     * Creates a new Conditions Met Vector (CMV) and computes all the Launch Interceptor Conditions (LICs) in parallel.
+     * The LICs are independent of each other, so the result is the same as when they are computed one after another.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     * @param pool the pool that computes the LICs.
+     */
+    public CMV(Parameters parameters, PointBuffer points, ForkJoinPool pool) {
+        this(parameters, points, 0);
+        computeLICsInParallel(pool);
+    }
+
+    private CMV(Parameters parameters, PointBuffer points, int computed) {
         this.parameters = parameters;
         this.points = points;
-        computeLICs();
+        this.xs = points.xs;
+        this.ys = points.ys;
+        this.geometry = new GeometryCache(points);
+        this.computed = computed;
+    }
+
+    /**
+     * Creates a new Conditions Met Vector (CMV) where each Launch Interceptor Condition (LIC) is only computed
+     * the first time its element is read with {@link #get(int)}. LICs that are never read are never computed.
+     * A lazy CMV must not be read from several threads at once.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points a vector of 2D points.
+     * @return a lazy CMV.
+     */
+    public static CMV lazy(Parameters parameters, Point[] points) {
+        return lazy(parameters, PointBuffer.of(points));
+    }
+
+    /**
+     * Creates a new Conditions Met Vector (CMV) where each Launch Interceptor Condition (LIC) is only computed
+     * the first time its element is read with {@link #get(int)}. LICs that are never read are never computed.
+     * A lazy CMV must not be read from several threads at once.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     * @return a lazy CMV.
+     */
+    public static CMV lazy(Parameters parameters, PointBuffer points) {
+        return new CMV(parameters, points, 0);
     }
 
     /**
-     * Returns the ith element of the CMV vector.
+     * Returns the ith element of the CMV vector. If the CMV is lazy, the ith LIC is computed the first time.
      * @return ith element of the CMV vector.
      */
     public boolean get(int i) {
+        if ((computed & (1 << i)) == 0) {
+            cmv[i] = computeLIC(i);
+            computed |= 1 << i;
+        }
         return cmv[i];
     }
 
+    /**
+     * Returns the whole CMV vector as a bit mask, where bit i is set if the ith element is true.
+     * If the CMV is lazy, every LIC that has not been computed yet is computed.
+     * @return the CMV as a bit mask.
+     */
+    public int mask() {
+        return mask(ALL_LICS);
+    }
+
+    /**
+     * Returns the elements of the CMV vector that are in the given set of LICs as a bit mask, where bit i is set if
+     * LIC i is in the set and the ith element is true. If the CMV is lazy, only the LICs in the set are computed.
+     * @param lics the set of LICs, where bit i is set if LIC i is in the set.
+     * @return the CMV restricted to the set as a bit mask.
+     */
+    int mask(int lics) {
+        int mask = 0;
+        for (int i = 0; i < CMV_SIZE; i++) {
+            if ((lics & (1 << i)) != 0 && get(i))
+                mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    /**
+     * Checks if the ith LIC has been computed, which is always the case unless the CMV is lazy.
+     * @return true if the ith element of the CMV vector is known.
+     */
+    public boolean isComputed(int i) {
+        return (computed & (1 << i)) != 0;
+    }
+
     /**
      * Calls a method for each LIC and sets the corresponding entry in the CMV vector.
      */
     private void computeLICs() {
-        cmv[0] = lic0();
-        cmv[1] = lic1();
-        cmv[2] = lic2();
-        cmv[3] = lic3();
-        cmv[4] = lic4();
-        cmv[5] = lic5();
-        cmv[6] = lic6();
-        cmv[7] = lic7();
-        cmv[8] = lic8();
-        cmv[9] = lic9();
-        cmv[10] = lic10();
-        cmv[11] = lic11();
-        cmv[12] = lic12();
-        cmv[13] = lic13();
-        cmv[14] = lic14();
+        for (int i = 0; i < CMV_SIZE; i++) {
+            cmv[i] = computeLIC(i);
+        }
+        computed = ALL_LICS;
+    }
+
+    /**
+     * Submits one task per LIC to the pool, the most expensive LICs first, and waits for all of them.
+     * Each task only writes its own entry in the CMV vector, and joining a task makes its write visible.
+     */
+    private void computeLICsInParallel(ForkJoinPool pool) {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[CMV_SIZE];
+        for (int k = 0; k < CMV_SIZE; k++) {
+            int i = PARALLEL_ORDER[k];
+            tasks[k] = pool.submit(() -> {
+                cmv[i] = computeLIC(i);
+            });
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        computed = ALL_LICS;
+    }
+
+    /**
+     * Calls the method for the ith LIC.
+     * @return the result of the ith LIC.
+     */
+    private boolean computeLIC(int i) {
+        switch (i) {
+            case 0: return lic0();
+            case 1: return lic1();
+            case 2: return lic2();
+            case 3: return lic3();
+            case 4: return lic4();
+            case 5: return lic5();
+            case 6: return lic6();
+            case 7: return lic7();
+            case 8: return lic8();
+            case 9: return lic9();
+            case 10: return lic10();
+            case 11: return lic11();
+            case 12: return lic12();
+            case 13: return lic13();
+            case 14: return lic14();
+            default: throw new IllegalArgumentException("There is no LIC " + i);
+        }
     }
 
     /**
@@ -64,13 +220,8 @@ public class CMV {
      * the length, LENGTH1, apart.
      * (0 ≤ LENGTH1)
      */
-    private boolean lic0() {
-        for (int i = 0; i < points.length - 1; i++) {
-            if (Point.euclidianDistanceBetween(points[i], points[i + 1]) > parameters.LENGTH1) {
-                return true;
-            }
-        }
-        return false;
+    boolean lic0() {
+        return Kernels.stride().anyDistanceGreaterThan(xs, ys, 1, parameters.LENGTH1);
     }
 
     /**
@@ -78,15 +229,12 @@ public class CMV {
      * within or on a circle of radius RADIUS1.
      * (0 ≤ RADIUS1)
      */
-    private boolean lic1() {
-        for(int i = 0; i < points.length-2; i++) {
-            // Translate the points to understandable mathematical variables
-            Point x = points[i];
-            Point y = points[i + 1];
-            Point z = points[i + 2];
-            if(!MathTools.pointsAreCoveredByCircle(x, y, z, parameters.RADIUS1)){
+    boolean lic1() {
+        for (int i = 0; i < xs.length - 2; i++) {
+            double squaredRadius = MathTools.minimumEnclosingRadiusSquared(xs[i], ys[i], xs[i + 1], ys[i + 1],
+                    xs[i + 2], ys[i + 2]);
+            if (!MathTools.lengthAtMost(squaredRadius, parameters.RADIUS1))
                 return true;
-            }
         }
         return false;
     }
@@ -101,25 +249,16 @@ public class CMV {
      * is not satisfied by those three points.
      * (0 ≤ EPSILON < PI)
      */
-    private boolean lic2() {
-        for (int i = 0; i < points.length - 2; i++) {
-            Point p1 = points[i];
-            Point vertex = points[i + 1];
-            Point p2 = points[i + 2];
-
+    boolean lic2() {
+        // The angle is at most PI, so it can never be greater than PI + EPSILON.
+        double cosLimit = Geometry.angleLimit(parameters.EPSILON);
+        for (int i = 0; i < xs.length - 2; i++) {
             // A special case where the angle is undefined.
             // These points are not allowed to satisfy the LIC, hence we should skip them.
-            if (p1.equals(vertex) || p2.equals(vertex))
+            if (points.coincide(i, i + 1) || points.coincide(i + 2, i + 1))
                 continue;
 
-            double angle;
-            try {
-                angle = Point.vertexAngle(p1, vertex, p2);
-            } catch (Point.UndefinedAngleException e) {
-                continue;
-            }
-
-            if (angle < PI - parameters.EPSILON || angle > PI + parameters.EPSILON)
+            if (Geometry.angleLessThan(xs[i], ys[i], xs[i + 1], ys[i + 1], xs[i + 2], ys[i + 2], cosLimit))
                 return true;
         }
 
@@ -131,13 +270,9 @@ public class CMV {
      * with area greater than AREA1.
      * (0 ≤ AREA1)
      */
-    private boolean lic3() {
-        for (int i = 0; i < points.length - 2; i++) {
-            Point p1 = points[i];
-            Point p2 = points[i + 1];
-            Point p3 = points[i + 2];
-
-            double area = Triangle.area(p1, p2, p3);
+    boolean lic3() {
+        for (int i = 0; i < xs.length - 2; i++) {
+            double area = Geometry.triangleArea(xs[i], ys[i], xs[i + 1], ys[i + 1], xs[i + 2], ys[i + 2]);
 
             if (area > parameters.AREA1)
                 return true;
@@ -154,16 +289,23 @@ public class CMV {
      * (0,1) is in quadrant I and the point (1,0) is in quadrant I.
      * (2 ≤ Q_PTS ≤ NUMPOINTS), (1 ≤ QUADS ≤ 3)
      */
-    private boolean lic4() {
-        for (int i = 0; i <= points.length - parameters.Q_PTS; i++) {
-            Set<Point.Quadrant> quadsWithConsecutivePoints = new HashSet<>();
-            for (int j = i; j < i + parameters.Q_PTS; j++) {
-                Point.Quadrant quadrant = points[j].getQuadrant();
-                quadsWithConsecutivePoints.add(quadrant);
-            }
-            if (quadsWithConsecutivePoints.size() > parameters.QUADS) {
+    boolean lic4() {
+        int window = parameters.Q_PTS;
+        // A window without points lies in no quadrant, and Parameters.verify rejects such windows anyway.
+        if (window <= 0 || window > xs.length)
+            return false;
+
+        // Slide the window over the points, keeping the number of points in each quadrant.
+        byte[] quadrants = points.quadrants();
+        int[] counts = new int[4];
+        int distinct = 0;
+        for (int j = 0; j < xs.length; j++) {
+            if (counts[quadrants[j]]++ == 0)
+                distinct++;
+            if (j >= window && --counts[quadrants[j - window]] == 0)
+                distinct--;
+            if (j >= window - 1 && distinct > parameters.QUADS)
                 return true;
-            }
         }
         return false;
     }
@@ -172,13 +314,8 @@ public class CMV {
      * Returns true if there exists at least one set of two consecutive data points, (X[i],Y[i]) and (X[j],Y[j]), such
      * that X[j] - X[i] < 0. (where i = j-1)
      */
-    private boolean lic5() {
-        for (int i = 0; i < points.length - 1; i++){
-            if ((points[i+1].x - points[i].x) < 0){
-                return true;
-            }
-        }
-        return false;
+    boolean lic5() {
+        return Kernels.stride().anyDecrease(xs, 1);
     }
 
     /**
@@ -189,42 +326,108 @@ public class CMV {
      * the N_PTS consecutive points. The condition is not met when NUMPOINTS < 3.
      * Pre-conditions: (3 ≤ N_PTS ≤ NUMPOINTS), (0 ≤ DIST)
      */
-    private boolean lic6() {
-        if (points.length < 3 || parameters.N_PTS < 3){
+    boolean lic6() {
+        if (xs.length < 3 || parameters.N_PTS < 3 || parameters.N_PTS > xs.length){
             return false;
         }
 
-        for (int first = 0; first < points.length - parameters.N_PTS + 1; first++) {
+        // The points between the first and the last point of each window lie in a bounding box. The distance to a
+        // line or to a point is convex, so it is largest at a corner of the box, and a window can be skipped when
+        // all corners are within DIST. The boxes of all windows are computed in O(N) with sliding extremes.
+        // The windows that the boxes cannot skip are scanned point by point, which takes O(N * N_PTS) time in the worst
+        // case. Once scanning has become expensive, the farthest point of each window is found in a tree of convex
+        // hulls instead, which bounds the time by O(N log^2 N) for windows whose first and last point differ.
+        int interior = parameters.N_PTS - 2;
+        boolean prune = interior >= PRUNE_MIN_POINTS && !hasNaN();
+        double[] minX = prune ? SlidingExtremes.minima(xs, interior) : null;
+        double[] maxX = prune ? SlidingExtremes.maxima(xs, interior) : null;
+        double[] minY = prune ? SlidingExtremes.minima(ys, interior) : null;
+        double[] maxY = prune ? SlidingExtremes.maxima(ys, interior) : null;
+        HullTree hulls = null;
+        long scanned = 0;
+
+        for (int first = 0; first < xs.length - parameters.N_PTS + 1; first++) {
             int last = first + parameters.N_PTS - 1;
 
-            if (points[first].equals(points[last])) {
+            if (points.coincide(first, last)) {
                 // when the first and last points of these N_PTS are identical
+                if (prune && boxNearPoint(first, minX[first + 1], maxX[first + 1], minY[first + 1], maxY[first + 1]))
+                    continue;
+
+                if (hulls != null) {
+                    double farthest = hulls.maxSquaredDistance(first + 1, last, xs[first], ys[first]);
+                    if (MathTools.lengthGreaterThan(farthest, parameters.DIST))
+                        return true;
+                    continue;
+                }
+
                 for (int i = first + 1; i < last; i++) {
-                    if (points[i].distance(points[first]) > parameters.DIST) {
+                    if (MathTools.lengthGreaterThan(points.squaredDistance(i, first), parameters.DIST)) {
                         return true;
                     }
                 }
             } else {
-                // Find distance greater than DIST from the line joining the first and last of these N_PTS points
-                // Equation of a line: y = m*x + k or m*x - y + k = 0
-                double a, b, c;
-                // m = dy / dx
-                double dx = points[last].x - points[first].x;
-                double dy = points[last].y - points[first].y;
-                double m = dy / dx;
-                // k = y1 - m*x1
-                double k = points[first].y - m * points[first].x;
-                a = m;
-                b = -1;
-                c = k;
+                // Find distance greater than DIST from the line joining the first and last of these N_PTS points.
+                // The distance from a point p is |cross(first, last, p)| / |last - first|, which also works for
+                // vertical lines, so the squared distance is cross^2 / |last - first|^2.
+                double lineScale = 1 / points.squaredDistance(first, last);
+
+                if (prune && boxNearLine(first, last, lineScale,
+                        minX[first + 1], maxX[first + 1], minY[first + 1], maxY[first + 1]))
+                    continue;
+
+                if (hulls != null) {
+                    double cross = hulls.maxAbsCross(first + 1, last, xs[first], ys[first], xs[last], ys[last]);
+                    if (MathTools.lengthGreaterThan(cross * cross * lineScale, parameters.DIST))
+                        return true;
+                    continue;
+                }
 
                 for (int i = first + 1; i < last; i++) {
-                    double distance = Math.abs(a * points[i].x + b * points[i].y + c) / Math.sqrt(a * a + b * b);
-                    if (distance > parameters.DIST) {
+                    double cross = Geometry.cross(xs[first], ys[first], xs[last], ys[last], xs[i], ys[i]);
+                    if (MathTools.lengthGreaterThan(cross * cross * lineScale, parameters.DIST)) {
                         return true;
                     }
                 }
             }
+
+            // The window was scanned without finding a point far enough away.
+            scanned += interior;
+            if (prune && scanned > (long) HULL_TREE_MIN_SCANS * xs.length)
+                hulls = new HullTree(xs, ys);
+        }
+        return false;
+    }
+
+    // Checks if all corners of the box are within DIST from the point with the index center.
+    private boolean boxNearPoint(int center, double minX, double maxX, double minY, double maxY) {
+        return cornerNearPoint(center, minX, minY) && cornerNearPoint(center, minX, maxY) &&
+                cornerNearPoint(center, maxX, minY) && cornerNearPoint(center, maxX, maxY);
+    }
+
+    private boolean cornerNearPoint(int center, double x, double y) {
+        double dx = x - xs[center];
+        double dy = y - ys[center];
+        return MathTools.lengthAtMost(dx * dx + dy * dy, parameters.DIST);
+    }
+
+    // Checks if all corners of the box are within DIST from the line through the points with the indices first and last.
+    private boolean boxNearLine(int first, int last, double lineScale,
+                                double minX, double maxX, double minY, double maxY) {
+        return cornerNearLine(first, last, lineScale, minX, minY) && cornerNearLine(first, last, lineScale, minX, maxY) &&
+                cornerNearLine(first, last, lineScale, maxX, minY) && cornerNearLine(first, last, lineScale, maxX, maxY);
+    }
+
+    private boolean cornerNearLine(int first, int last, double lineScale, double x, double y) {
+        double cross = Geometry.cross(xs[first], ys[first], xs[last], ys[last], x, y);
+        return MathTools.lengthAtMost(cross * cross * lineScale, parameters.DIST);
+    }
+
+    // Checks if any coordinate is NaN, since the bounding boxes cannot be computed for NaN coordinates.
+    private boolean hasNaN() {
+        for (int i = 0; i < xs.length; i++) {
+            if (Double.isNaN(xs[i]) || Double.isNaN(ys[i]))
+                return true;
         }
         return false;
     }
@@ -235,20 +438,13 @@ public class CMV {
      * 1 ≤ K_PTS ≤ (NUMPOINTS−2)
      */
     public boolean lic7() {
-        if (points.length < 3)
+        if (xs.length < 3)
             return false;
 
-        for (int i = 0; i < points.length - parameters.K_PTS - 1; i++) {
-            // The consecutive intervening points are those points that are between the start point and the end point in the array.
-            Point start = points[i];
-            Point end = points[i + parameters.K_PTS + 1];
-
-            // Check if the start point and the end point have a distance greater than LENGTH1 between them.
-            if (start.distance(end) > parameters.LENGTH1)
-                return true;
-        }
-
-        return false;
+        // The consecutive intervening points are those points that are between the start point and the end point in
+        // the array, so the end point is K_PTS + 1 points after the start point. LIC 12 uses the same distances.
+        double length = parameters.LENGTH1;
+        return geometry.squaredDistances(parameters.K_PTS + 1).any(d -> MathTools.lengthGreaterThan(d, length));
     }
 
     /**
@@ -258,20 +454,15 @@ public class CMV {
      * 1 ≤ A_PTS, 1 ≤ B_PTS
      * A_PTS+B_PTS ≤ (NUMPOINTS−3)
      */
-    private boolean lic8() {
-        if (points.length < 5)
+    boolean lic8() {
+        if (xs.length < 5)
             return false;
 
-        for (int i = 0; i < points.length - parameters.A_PTS - parameters.B_PTS - 2; i++) {
-            if (!MathTools.pointsAreCoveredByCircle(
-                    points[i],
-                    points[i + parameters.A_PTS + 1],
-                    points[i + parameters.A_PTS + parameters.B_PTS + 2],
-                    parameters.RADIUS1)) {
-                return true;
-            }
-        }
-        return false;
+        // LIC 13 uses the same circles.
+        int second = parameters.A_PTS + 1;
+        int third = second + parameters.B_PTS + 1;
+        double radius = parameters.RADIUS1;
+        return geometry.squaredRadii(second, third).any(r -> !MathTools.lengthAtMost(r, radius));
     }
 
     /**
@@ -286,18 +477,18 @@ public class CMV {
      * 1 ≤ C_PTS, 1 ≤ D_PTS
      * C_PTS+D_PTS ≤ NUMPOINTS−3
      */
-    private boolean lic9() {
-        for (int i = 0; i < points.length - parameters.C_PTS - parameters.D_PTS - 2; i++) {
-            double angle;
-            try {
-                angle = Point.vertexAngle(points[i],
-                        points[i + parameters.C_PTS + 1],
-                        points[i + parameters.C_PTS + parameters.D_PTS + 2]);
-            } catch (Point.UndefinedAngleException e) {
+    boolean lic9() {
+        // The angle is at most PI, so it can never be greater than PI + EPSILON.
+        double cosLimit = Geometry.angleLimit(parameters.EPSILON);
+        for (int i = 0; i < xs.length - parameters.C_PTS - parameters.D_PTS - 2; i++) {
+            int vertex = i + parameters.C_PTS + 1;
+            int last = vertex + parameters.D_PTS + 1;
+
+            // The angle is undefined if the first or the last point coincides with the vertex.
+            if (points.coincide(i, vertex) || points.coincide(last, vertex))
                 continue;
-            }
 
-            if (angle < PI - parameters.EPSILON || angle > PI + parameters.EPSILON) {
+            if (Geometry.angleLessThan(xs[i], ys[i], xs[vertex], ys[vertex], xs[last], ys[last], cosLimit)) {
                 return true;
             }
         }
@@ -311,23 +502,15 @@ public class CMV {
      * 1 ≤ E_PTS, 1 ≤ F_PTS
      * E_PTS+F_PTS ≤ NUMPOINTS−3
      */
-    private boolean lic10() {
-        if(points.length < 5) {
+    boolean lic10() {
+        if(xs.length < 5) {
             return false;
         }
+        // LIC 14 uses the same areas.
         int distanceToMiddlePoint = parameters.E_PTS + 1;
         int distanceToFinalPoint = distanceToMiddlePoint + parameters.F_PTS + 1;
-        for(int i = 0; i < points.length - distanceToFinalPoint; i++) {
-            Point p1 = points[i];
-            Point p2 = points[i + distanceToMiddlePoint];
-            Point p3 = points[i + distanceToFinalPoint];
-
-            double area = Triangle.area(p1, p2, p3);
-            if (area > parameters.AREA1) {
-                return true;
-            }
-        }
-        return false;
+        double area = parameters.AREA1;
+        return geometry.areas(distanceToMiddlePoint, distanceToFinalPoint).any(a -> a > area);
     }
 
     /**
@@ -336,20 +519,13 @@ public class CMV {
      * condition is not met when NUMPOINTS < 3.
      * 1 ≤ G_PTS ≤ NUMPOINTS−2
      */
-    private boolean lic11() {
-        if (points.length < 3)
+    boolean lic11() {
+        if (xs.length < 3)
             return false;
 
-        for (int i = 0; i < points.length - parameters.G_PTS - 1; i++) {
-            // The consecutive intervening points are the points with indices in the open interval (i, j).
-            int j = i + parameters.G_PTS + 1;
-
-            // Check if X[j] - X[i] < 0.
-            if (points[j].x - points[i].x < 0)
-                return true;
-        }
-
-        return false;
+        // The consecutive intervening points are the points with indices in the open interval (i, j),
+        // so j = i + G_PTS + 1.
+        return Kernels.stride().anyDecrease(xs, parameters.G_PTS + 1);
     }
 
     /**
@@ -361,28 +537,17 @@ public class CMV {
      * for the LIC to be true. The condition is not met when NUMPOINTS < 3.
      * 0 ≤ LENGTH2
      */
-    private boolean lic12() {
-        if (points.length < 3) {
+    boolean lic12() {
+        if (xs.length < 3) {
             return false;
         }
 
-        boolean hasTwoPointsSpacedApartByLENGTH1 = false;
-        boolean hasTwoPointsCloserThanLENGTH2 = false;
-        for (int i = 0; i < points.length - parameters.K_PTS - 1; i++) {
-            double distance = points[i].distance(points[i + parameters.K_PTS + 1]);
-            if (distance > parameters.LENGTH1) {
-                hasTwoPointsSpacedApartByLENGTH1 = true;
-            }
-
-            if (distance < parameters.LENGTH2) {
-                hasTwoPointsCloserThanLENGTH2 = true;
-            }
-
-            if (hasTwoPointsSpacedApartByLENGTH1 && hasTwoPointsCloserThanLENGTH2) {
-                return true;
-            }
-        }
-        return false;
+        // Each distance is computed once for both parts, and the scan stops when both parts are met.
+        double length1 = parameters.LENGTH1;
+        double length2 = parameters.LENGTH2;
+        return geometry.squaredDistances(parameters.K_PTS + 1).both(
+                d -> MathTools.lengthGreaterThan(d, length1),
+                d -> MathTools.lengthLessThan(d, length2));
     }
 
     /**
@@ -395,30 +560,19 @@ public class CMV {
      * not met when NUMPOINTS < 5.
      * 0 ≤ RADIUS2
      */
-    private boolean lic13() {
-        if (points.length < 5)
+    boolean lic13() {
+        if (xs.length < 5)
             return false;
 
-        boolean coveredByRadius1 = true;
-        boolean coveredByRadius2 = false;
-
-        for (int i = 0; i < points.length - (parameters.A_PTS + 1) - (parameters.B_PTS + 1); i++) {
-            Point a = points[i];
-            Point b = points[i + parameters.A_PTS + 1];
-            Point c = points[i + (parameters.A_PTS + 1) + (parameters.B_PTS + 1)];
-
-            boolean coveredByCircle1 = MathTools.pointsAreCoveredByCircle(a, b, c, parameters.RADIUS1);
-            boolean coveredByCircle2 = MathTools.pointsAreCoveredByCircle(a, b, c, parameters.RADIUS2);
-
-            if (!coveredByCircle1) {
-                coveredByRadius1 = false;
-            }
-            if (coveredByCircle2) {
-                coveredByRadius2 = true;
-            }
-        }
-
-        return !coveredByRadius1 && coveredByRadius2;
+        int second = parameters.A_PTS + 1;
+        int third = second + parameters.B_PTS + 1;
+        // Each smallest circle is computed once for both radii, and the scan stops when both parts are met.
+        // A window with NaN coordinates is never covered.
+        double radius1 = parameters.RADIUS1;
+        double radius2 = parameters.RADIUS2;
+        return geometry.squaredRadii(second, third).both(
+                r -> !MathTools.lengthAtMost(r, radius1),
+                r -> MathTools.lengthAtMost(r, radius2));
     }
 
     /**
@@ -431,33 +585,15 @@ public class CMV {
      * NUMPOINTS < 5.
      * 0 ≤ AREA2
      */
-    private boolean lic14() {
-        if (points.length < 5)
+    boolean lic14() {
+        if (xs.length < 5)
             return false;
 
-        boolean hasTriangleAreaLargerThanAREA1 = false;
-        boolean hasTriangleAreaLessThanAREA2 = false;
-
-        for (int i = 0; i < points.length - parameters.E_PTS - parameters.F_PTS - 2; i++) {
-            Point p1 = points[i];
-            Point p2 = points[i + parameters.E_PTS + 1];
-            Point p3 = points[i + parameters.E_PTS + parameters.F_PTS + 2];
-
-            double area = Triangle.area(p1, p2, p3);
-
-            if (area > parameters.AREA1) {
-                hasTriangleAreaLargerThanAREA1 = true;
-            }
-
-            if (area < parameters.AREA2) {
-                hasTriangleAreaLessThanAREA2 = true;
-            }
-
-            if (hasTriangleAreaLargerThanAREA1 && hasTriangleAreaLessThanAREA2) {
-                return true;
-            }
-        }
-
-        return false;
+        int second = parameters.E_PTS + 1;
+        int third = second + parameters.F_PTS + 1;
+        // Each area is computed once for both parts, and the scan stops when both parts are met.
+        double area1 = parameters.AREA1;
+        double area2 = parameters.AREA2;
+        return geometry.areas(second, third).both(a -> a > area1, a -> a < area2);
     }
 }
@@ -0,0 +1,259 @@
+package decide.core;
+
+/**
+ * Computes the CMV of one vector of points for many sets of thresholds, such as in a parameter sweep where only
+ * LENGTH1, RADIUS1, EPSILON, AREA1, QUADS, DIST, LENGTH2, RADIUS2 and AREA2 vary.
+ * <p>
+ * Every LIC looks for a window of points whose distance, area, radius or angle passes a threshold, so for fixed
+ * window sizes it only depends on the largest or smallest of those quantities over all windows. The sweep computes
+ * the extremes once, and then the CMV for a set of thresholds is a comparison per LIC. The results are the same as
+ * for a {@code CMV} with the same parameters, except that the angle checks of LICs 2 and 9 compare the cosine of the
+ * widest angle, so they may differ when an angle is within a rounding error of PI - EPSILON.
+ * <p>
+ * A sweep is immutable, so it can be shared between threads.
+ */
+public class CMVSweep {
+
+    // The window sizes that the extremes were computed for.
+    private final Parameters windows;
+
+    // The extremes of the squared distances between the points i and i + 1 (LIC 0) and i + K_PTS + 1 (LICs 7, 12).
+    private final Extremes consecutiveDistances = new Extremes();
+    private final Extremes kDistances = new Extremes();
+
+    // The extremes of the squared radii of the smallest circles around the consecutive triples (LIC 1)
+    // and the triples separated by A_PTS and B_PTS (LICs 8, 13).
+    private final Extremes consecutiveRadii = new Extremes();
+    private final Extremes abRadii = new Extremes();
+
+    // The extremes of the cosines of the angles at the consecutive triples (LIC 2) and the triples separated by C_PTS
+    // and D_PTS (LIC 9). The angle is smallest where the cosine is largest.
+    private final Extremes consecutiveCosines = new Extremes();
+    private final Extremes cdCosines = new Extremes();
+
+    // The extremes of the triangle areas of the consecutive triples (LIC 3) and the triples separated by E_PTS and
+    // F_PTS (LICs 10, 14).
+    private final Extremes consecutiveAreas = new Extremes();
+    private final Extremes efAreas = new Extremes();
+
+    // The extremes of the number of quadrants in a window of Q_PTS points (LIC 4).
+    private final Extremes quadrants = new Extremes();
+
+    // The extremes of the largest squared distance from the line, or the point, in a window of N_PTS points (LIC 6).
+    private final Extremes lineDistances = new Extremes();
+
+    // LICs 5 and 11 do not depend on any threshold.
+    private final boolean lic5;
+    private final boolean lic11;
+
+    /**
+     * Computes the extremes of the points for the window sizes of the given parameters, which are Q_PTS, N_PTS,
+     * K_PTS, A_PTS, B_PTS, C_PTS, D_PTS, E_PTS, F_PTS and G_PTS. The thresholds of the parameters are not used.
+     * @param windows the parameters with the window sizes.
+     * @param points a vector of 2D points.
+     */
+    public CMVSweep(Parameters windows, Point[] points) {
+        this(windows, PointBuffer.of(points));
+    }
+
+    /**
+     * Computes the extremes of the points for the window sizes of the given parameters, which are Q_PTS, N_PTS,
+     * K_PTS, A_PTS, B_PTS, C_PTS, D_PTS, E_PTS, F_PTS and G_PTS. The thresholds of the parameters are not used.
+     * @param windows the parameters with the window sizes.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     */
+    public CMVSweep(Parameters windows, PointBuffer points) {
+        this.windows = windows;
+        int n = points.size();
+
+        distances(points, 1, consecutiveDistances);
+        radii(points, 1, 1, consecutiveRadii);
+        cosines(points, 1, 1, consecutiveCosines);
+        areas(points, 1, 1, consecutiveAreas);
+        quadrants(points);
+        lineDistances(points);
+        if (n >= 3)
+            distances(points, windows.K_PTS + 1, kDistances);
+        if (n >= 5)
+            radii(points, windows.A_PTS + 1, windows.B_PTS + 1, abRadii);
+        cosines(points, windows.C_PTS + 1, windows.D_PTS + 1, cdCosines);
+        if (n >= 5)
+            areas(points, windows.E_PTS + 1, windows.F_PTS + 1, efAreas);
+
+        StrideKernels kernels = Kernels.stride();
+        lic5 = kernels.anyDecrease(points.xs, 1);
+        lic11 = n >= 3 && kernels.anyDecrease(points.xs, windows.G_PTS + 1);
+    }
+
+    /**
+     * Computes the CMV for the thresholds of the given parameters. The window sizes must be the same as the window
+     * sizes that the sweep was created with.
+     * @param thresholds the parameters with the thresholds.
+     * @return the CMV as a bit mask, where bit i is set if the ith element is true, as in {@link CMV#mask()}.
+     * @throws IllegalArgumentException if a window size differs from the window sizes of the sweep.
+     */
+    public int mask(Parameters thresholds) {
+        verifyWindows(thresholds);
+        Parameters t = thresholds;
+        double cosLimit = Geometry.angleLimit(t.EPSILON);
+
+        boolean[] cmv = new boolean[CMV.CMV_SIZE];
+        cmv[0] = longer(consecutiveDistances, t.LENGTH1);
+        cmv[1] = notCovered(consecutiveRadii, t.RADIUS1);
+        cmv[2] = consecutiveCosines.max > cosLimit;
+        cmv[3] = consecutiveAreas.max > t.AREA1;
+        cmv[4] = quadrants.any && quadrants.max > t.QUADS;
+        cmv[5] = lic5;
+        cmv[6] = longer(lineDistances, t.DIST);
+        cmv[7] = longer(kDistances, t.LENGTH1);
+        cmv[8] = notCovered(abRadii, t.RADIUS1);
+        cmv[9] = cdCosines.max > cosLimit;
+        cmv[10] = efAreas.max > t.AREA1;
+        cmv[11] = lic11;
+        cmv[12] = longer(kDistances, t.LENGTH1) && MathTools.lengthLessThan(kDistances.min, t.LENGTH2);
+        cmv[13] = notCovered(abRadii, t.RADIUS1) && MathTools.lengthAtMost(abRadii.min, t.RADIUS2);
+        cmv[14] = efAreas.max > t.AREA1 && efAreas.min < t.AREA2;
+
+        int mask = 0;
+        for (int i = 0; i < CMV.CMV_SIZE; i++) {
+            if (cmv[i])
+                mask |= 1 << i;
+        }
+        return mask;
+    }
+
+    // Some window has a length that is greater than the bound.
+    private static boolean longer(Extremes squaredLengths, double bound) {
+        return MathTools.lengthGreaterThan(squaredLengths.max, bound);
+    }
+
+    // Some window cannot be covered by a circle of the radius. Like MathTools.pointsAreCoveredByCircle,
+    // a window with NaN coordinates is never covered.
+    private static boolean notCovered(Extremes squaredRadii, double radius) {
+        return squaredRadii.nan || squaredRadii.any && !MathTools.lengthAtMost(squaredRadii.max, radius);
+    }
+
+    private void verifyWindows(Parameters p) {
+        Parameters w = windows;
+        if (p.Q_PTS != w.Q_PTS || p.N_PTS != w.N_PTS || p.K_PTS != w.K_PTS || p.A_PTS != w.A_PTS ||
+                p.B_PTS != w.B_PTS || p.C_PTS != w.C_PTS || p.D_PTS != w.D_PTS || p.E_PTS != w.E_PTS ||
+                p.F_PTS != w.F_PTS || p.G_PTS != w.G_PTS) {
+            throw new IllegalArgumentException("The window sizes must be the same as the window sizes of the sweep.");
+        }
+    }
+
+    // The squared distances between the points i and i + stride.
+    private static void distances(PointBuffer points, int stride, Extremes extremes) {
+        for (int i = 0; i < points.size() - stride; i++)
+            extremes.add(points.squaredDistance(i, i + stride));
+    }
+
+    // The squared radii of the triples i, j = i + first and k = j + second.
+    private static void radii(PointBuffer points, int first, int second, Extremes extremes) {
+        double[] xs = points.xs;
+        double[] ys = points.ys;
+        for (int i = 0; i < points.size() - first - second; i++) {
+            int j = i + first;
+            int k = j + second;
+            extremes.add(MathTools.minimumEnclosingRadiusSquared(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]));
+        }
+    }
+
+    // The cosines of the angles at the vertex j = i + first of the triples i, j and k = j + second, where the angle
+    // is defined.
+    private static void cosines(PointBuffer points, int first, int second, Extremes extremes) {
+        double[] xs = points.xs;
+        double[] ys = points.ys;
+        for (int i = 0; i < points.size() - first - second; i++) {
+            int j = i + first;
+            int k = j + second;
+            if (points.coincide(i, j) || points.coincide(k, j))
+                continue;
+            double a2 = points.squaredDistance(i, j);
+            double b2 = points.squaredDistance(k, j);
+            if (a2 == 0 || b2 == 0)
+                continue;
+            double dot = Geometry.dot(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]);
+            extremes.add(dot / (Math.sqrt(a2) * Math.sqrt(b2)));
+        }
+    }
+
+    // The areas of the triangles i, j = i + first and k = j + second.
+    private static void areas(PointBuffer points, int first, int second, Extremes extremes) {
+        double[] xs = points.xs;
+        double[] ys = points.ys;
+        for (int i = 0; i < points.size() - first - second; i++) {
+            int j = i + first;
+            int k = j + second;
+            extremes.add(Geometry.triangleArea(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]));
+        }
+    }
+
+    // The number of quadrants in each window of Q_PTS points, the same sliding window as CMV.lic4().
+    private void quadrants(PointBuffer points) {
+        int n = points.size();
+        int window = windows.Q_PTS;
+        // A window without points lies in no quadrant, and Parameters.verify rejects such windows anyway.
+        if (window <= 0 || window > n)
+            return;
+
+        byte[] quadrantOf = points.quadrants();
+        int[] counts = new int[4];
+        int distinct = 0;
+        for (int j = 0; j < n; j++) {
+            if (counts[quadrantOf[j]]++ == 0)
+                distinct++;
+            if (j >= window && --counts[quadrantOf[j - window]] == 0)
+                distinct--;
+            if (j >= window - 1)
+                quadrants.add(distinct);
+        }
+    }
+
+    // The squared distances from the line through the first and last point of each window of N_PTS points, or from
+    // the first point if the first and last point coincide, like CMV.lic6().
+    private void lineDistances(PointBuffer points) {
+        int n = points.size();
+        int window = windows.N_PTS;
+        if (n < 3 || window < 3 || window > n)
+            return;
+
+        double[] xs = points.xs;
+        double[] ys = points.ys;
+        for (int first = 0; first < n - window + 1; first++) {
+            int last = first + window - 1;
+            if (points.coincide(first, last)) {
+                for (int i = first + 1; i < last; i++)
+                    lineDistances.add(points.squaredDistance(i, first));
+            } else {
+                double lineScale = 1 / points.squaredDistance(first, last);
+                for (int i = first + 1; i < last; i++) {
+                    double cross = Geometry.cross(xs[first], ys[first], xs[last], ys[last], xs[i], ys[i]);
+                    lineDistances.add(cross * cross * lineScale);
+                }
+            }
+        }
+    }
+
+    // The largest and smallest value of a quantity over all windows, ignoring NaN values. Both are NaN if there are
+    // no other values, so that every comparison with them is false.
+    private static class Extremes {
+        double max = Double.NaN;
+        double min = Double.NaN;
+        // Some window exists, and some window has a NaN value.
+        boolean any;
+        boolean nan;
+
+        void add(double value) {
+            any = true;
+            if (Double.isNaN(value)) {
+                nan = true;
+                return;
+            }
+            if (!(value <= max))
+                max = value;
+            if (!(value >= min))
+                min = value;
+        }
+    }
+}
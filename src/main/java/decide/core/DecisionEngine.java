@@ -0,0 +1,161 @@
+package decide.core;
+
+import java.util.Arrays;
+
+/**
+ * Decides whether to launch the interceptor for a fixed LCM and PUV, computing as few LICs as possible.
+ * <p>
+ * The launch decision only depends on the entries PUM[i][j] where PUV[i] is true, i != j and LCM[i][j] is not
+ * NOTUSED, and there is no launch as soon as one of those entries is false. The engine therefore computes one LIC
+ * at a time, always the cheapest LIC that an undecided entry still depends on, and stops as soon as an entry is
+ * proven false (no launch) or all entries are proven true (launch). The cost of each LIC is measured every time it
+ * is computed, so the order adapts to the input that the engine sees.
+ * <p>
+ * An engine is not thread-safe, since it updates its cost measurements. Use one engine per thread.
+ */
+public class DecisionEngine {
+
+    // The possible states of an entry in the PUM while the LICs are computed.
+    private static final int FALSE = 0;
+    private static final int TRUE = 1;
+    private static final int UNDECIDED = 2;
+
+    // How much weight a new measurement gets in the average cost of a LIC.
+    private static final double COST_WEIGHT = 0.125;
+
+    // Rough cost estimates of the LICs in nanoseconds for 100 points, used until the LICs have been measured.
+    // The circle LICs and the line distances in LIC 6 are the most expensive.
+    private static final double[] INITIAL_COSTS =
+            {200, 1000, 600, 500, 400, 100, 800, 200, 1000, 600, 500, 100, 300, 1200, 600};
+
+    // The entries PUM[i][j] that the decision depends on, stored as the two LICs and whether the entry is ANDD or ORR.
+    private final int[] entryI;
+    private final int[] entryJ;
+    private final boolean[] entryAndd;
+
+    // The average cost of each LIC in nanoseconds.
+    private final double[] costs = INITIAL_COSTS.clone();
+
+    /**
+     * Creates a decision engine for the given LCM and PUV. Later changes to the LCM or the PUV are not seen
+     * by the engine.
+     * @param lcm the LCM.
+     * @param puv a boolean vector of length 15.
+     * @throws IllegalStateException if an entry of the LCM has not been set.
+     */
+    public DecisionEngine(LCM lcm, boolean[] puv) {
+        int count = 0;
+        int[] entryI = new int[PUM.PUM_SIZE * PUM.PUM_SIZE];
+        int[] entryJ = new int[PUM.PUM_SIZE * PUM.PUM_SIZE];
+        boolean[] entryAndd = new boolean[PUM.PUM_SIZE * PUM.PUM_SIZE];
+
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            PUM.verifyRow(lcm, i);
+            if (!puv[i])
+                continue;
+            for (int j = 0; j < PUM.PUM_SIZE; j++) {
+                if (i == j || lcm.get(i, j) == LCM.Value.NOTUSED)
+                    continue;
+                entryI[count] = i;
+                entryJ[count] = j;
+                entryAndd[count] = lcm.get(i, j) == LCM.Value.ANDD;
+                count++;
+            }
+        }
+
+        this.entryI = Arrays.copyOf(entryI, count);
+        this.entryJ = Arrays.copyOf(entryJ, count);
+        this.entryAndd = Arrays.copyOf(entryAndd, count);
+    }
+
+    /**
+     * Decides whether to launch the interceptor.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points a vector of 2D points.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(Parameters parameters, Point[] points) {
+        return decide(parameters, PointBuffer.of(points));
+    }
+
+    /**
+     * Decides whether to launch the interceptor.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(Parameters parameters, PointBuffer points) {
+        CMV cmv = CMV.lazy(parameters, points);
+
+        // Bit i of known is set when LIC i has been computed, and then bit i of values holds its result.
+        int known = 0;
+        int values = 0;
+
+        // The entries that are not decided yet are kept first in the order array.
+        int[] order = new int[entryI.length];
+        for (int e = 0; e < order.length; e++)
+            order[e] = e;
+        int undecided = order.length;
+
+        while (undecided > 0) {
+            // Compute the cheapest LIC that an undecided entry depends on.
+            int next = -1;
+            for (int k = 0; k < undecided; k++) {
+                int e = order[k];
+                next = cheaper(next, entryI[e], known);
+                next = cheaper(next, entryJ[e], known);
+            }
+
+            long start = System.nanoTime();
+            boolean value = cmv.get(next);
+            costs[next] += COST_WEIGHT * ((System.nanoTime() - start) - costs[next]);
+
+            known |= 1 << next;
+            if (value)
+                values |= 1 << next;
+
+            // Remove the entries that are now decided, and stop at the first entry that is false.
+            for (int k = undecided - 1; k >= 0; k--) {
+                int e = order[k];
+                int entry = entry(e, known, values);
+                if (entry == FALSE)
+                    return false;
+                if (entry == TRUE)
+                    order[k] = order[--undecided];
+            }
+        }
+
+        return true;
+    }
+
+    // Returns whichever of the LICs a and b is cheaper, ignoring b if it is already known. a = -1 means no LIC.
+    private int cheaper(int a, int b, int known) {
+        if ((known & (1 << b)) != 0)
+            return a;
+        if (a == -1 || costs[b] < costs[a])
+            return b;
+        return a;
+    }
+
+    // Decides the entry e from the LICs that are known so far.
+    private int entry(int e, int known, int values) {
+        int i = 1 << entryI[e];
+        int j = 1 << entryJ[e];
+        boolean iFalse = (known & i) != 0 && (values & i) == 0;
+        boolean jFalse = (known & j) != 0 && (values & j) == 0;
+        boolean iTrue = (values & i) != 0;
+        boolean jTrue = (values & j) != 0;
+
+        if (entryAndd[e]) {
+            // ANDD is false if one of the LICs is false, and true if both are true.
+            if (iFalse || jFalse)
+                return FALSE;
+            return iTrue && jTrue ? TRUE : UNDECIDED;
+        } else {
+            // ORR is true if one of the LICs is true, and false if both are false.
+            if (iTrue || jTrue)
+                return TRUE;
+            return iFalse && jFalse ? FALSE : UNDECIDED;
+        }
+    }
+}
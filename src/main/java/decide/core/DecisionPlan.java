@@ -0,0 +1,112 @@
+package decide.core;
+
+/**
+ * The launch decision for a fixed LCM and PUV, compiled into a truth table over all possible CMVs.
+ * <p>
+ * For a fixed LCM and PUV, the launch decision only depends on the 15 elements of the CMV, so there are only
+ * 2^15 possible decisions. The plan computes all of them once, and then every decision is a single lookup in the
+ * table with the CMV as a bit mask. Only the LICs that the LCM and the PUV refer to are computed for each
+ * set of points, since the other LICs cannot change the decision.
+ * <p>
+ * A plan is immutable, so it can be shared between threads. Later changes to the LCM or the PUV are not seen
+ * by the plan.
+ */
+public class DecisionPlan {
+
+    // Bit mask with all the LICs set.
+    private static final int ALL_LICS = (1 << CMV.CMV_SIZE) - 1;
+
+    // Bit c of the table is set if the CMV with the bit mask c leads to a launch, 64 CMVs per element.
+    private final long[] table = new long[(1 << CMV.CMV_SIZE) / Long.SIZE];
+
+    // The LICs that the decision depends on, as a bit mask.
+    private final int referenced;
+
+    /**
+     * Compiles a decision plan for the given LCM and PUV.
+     * @param lcm the LCM.
+     * @param puv a boolean vector of length 15.
+     * @throws IllegalStateException if an entry of the LCM has not been set.
+     */
+    public DecisionPlan(LCM lcm, boolean[] puv) {
+        int rows = 0;
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            PUM.verifyRow(lcm, i);
+            if (puv[i])
+                rows |= 1 << i;
+        }
+
+        for (int c = 0; c <= ALL_LICS; c++) {
+            if (launch(lcm, rows, c))
+                table[c >>> 6] |= 1L << c;
+        }
+
+        boolean[] referencedLICs = PUM.referencedLICs(lcm, puv);
+        int referenced = 0;
+        for (int i = 0; i < referencedLICs.length; i++) {
+            if (referencedLICs[i])
+                referenced |= 1 << i;
+        }
+        this.referenced = referenced;
+    }
+
+    /**
+     * Decides whether to launch the interceptor for a CMV given as a bit mask.
+     * @param cmv the CMV as a bit mask, where bit i is the ith element of the CMV. Only the 15 lowest bits are used.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(int cmv) {
+        int c = cmv & ALL_LICS;
+        return (table[c >>> 6] & (1L << c)) != 0;
+    }
+
+    /**
+     * Decides whether to launch the interceptor for a CMV.
+     * @param cmv the CMV.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(CMV cmv) {
+        return decide(cmv.mask(referenced));
+    }
+
+    /**
+     * Decides whether to launch the interceptor.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points a vector of 2D points.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(Parameters parameters, Point[] points) {
+        return decide(CMV.lazy(parameters, points));
+    }
+
+    /**
+     * Decides whether to launch the interceptor.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param points the 2D points, stored as parallel arrays of coordinates.
+     * @return true if the interceptor should be launched.
+     */
+    public boolean decide(Parameters parameters, PointBuffer points) {
+        return decide(CMV.lazy(parameters, points));
+    }
+
+    /**
+     * Returns the LICs that the decision depends on. The other LICs are never computed by the plan.
+     * @return a bit mask where bit i is set if the decision depends on LIC i.
+     */
+    public int referencedLICs() {
+        return referenced;
+    }
+
+    // Runs the PUM -> FUV stages for the CMV c, where bit i of rows is PUV[i].
+    private static boolean launch(LCM lcm, int rows, int c) {
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            if ((rows & (1 << i)) == 0)
+                continue;
+            // FUV[i] is true if PUM[i][j] is true for all j != i.
+            int row = PUM.row(lcm, i, c) | (1 << i);
+            if ((row & PUM.FULL_ROW) != PUM.FULL_ROW)
+                return false;
+        }
+        return true;
+    }
+}
@@ -2,7 +2,10 @@ package decide.core;
 
 public class FUV {
     private static final int FUV_LENGTH = 15;
-    private final boolean[] FUV = new boolean[FUV_LENGTH];
+    private static final int ALL = (1 << FUV_LENGTH) - 1;
+
+    // Bit i is set if FUV[i] is true.
+    private int FUV;
 
     /**
      * Compute the FUV vector
@@ -18,7 +21,7 @@ public class FUV {
      * @return ith element of the FUV vector.
      */
     public boolean get(int i) {
-        return FUV[i];
+        return (FUV & (1 << i)) != 0;
     }
 
     /**
@@ -27,24 +30,17 @@ public class FUV {
     private void computeFUV(boolean[] puv, PUM pum){
 
         for (int i = 0; i < puv.length; i++){
-            FUV[i] = !puv[i] || checkRow(pum.get(i), i);
+            if (!puv[i] || checkRow(pum.row(i), i)) {
+                FUV |= 1 << i;
+            }
         }
     }
 
     /**
-     * check if arr[i] = true for i != index, 0 <= i <= 14
+     * check if bit i of row is set for i != index, 0 <= i <= 14
      */
-    private boolean checkRow(boolean[] arr, int index){
-
-        for(int i = 0; i < arr.length; i++){
-            if(i == index){
-                continue;
-            }
-            if(!arr[i]){
-                return false;
-            }
-        }
-        return true;
+    private boolean checkRow(int row, int index){
+        return ((row | (1 << index)) & ALL) == ALL;
     }
 
     /**
@@ -53,13 +49,6 @@ public class FUV {
      * @return true if all elements in FUV are true
      */
     public boolean canLaunch() {
-        boolean launch = true;
-        for (int i = 0; i < FUV.length; i++) {
-            if(!FUV[i]) {
-                launch = false;
-                break;
-            }
-        }
-        return launch;
+        return FUV == ALL;
     }
 }
@@ -0,0 +1,86 @@
+package decide.core;
+
+import static java.lang.Math.PI;
+
+/**
+ * Geometry kernels on raw coordinates, built on cross and dot products. The areas and the angle checks that
+ * the LICs need are computed without square roots or trigonometric functions.
+ */
+public class Geometry {
+
+    /**
+     * Computes the cross product of the vectors from (x1, y1) to (x2, y2) and from (x1, y1) to (x3, y3).
+     * This is twice the signed area of the triangle, positive if the points are in counterclockwise order.
+     * @return the cross product.
+     */
+    public static double cross(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1);
+    }
+
+    /**
+     * Computes the dot product of the vectors from the vertex (vx, vy) to (x1, y1) and to (x3, y3).
+     * @return the dot product.
+     */
+    public static double dot(double x1, double y1, double vx, double vy, double x3, double y3) {
+        return (x1 - vx) * (x3 - vx) + (y1 - vy) * (y3 - vy);
+    }
+
+    /**
+     * Computes the area of the triangle with the vertices (x1, y1), (x2, y2) and (x3, y3) with the shoelace formula.
+     * Unlike Heron's formula, the area of a degenerate triangle is always 0 and never NaN.
+     * @return the area.
+     */
+    public static double triangleArea(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return 0.5 * Math.abs(cross(x1, y1, x2, y2, x3, y3));
+    }
+
+    /**
+     * Returns the cosine of PI - epsilon, which is the limit that {@link #angleLessThan} compares against for the
+     * angle condition of LICs 2 and 9. It only has to be computed once for each value of EPSILON.
+     * @param epsilon the deviation from PI, 0 ≤ epsilon ≤ PI.
+     * @return the cosine of the limit angle.
+     */
+    public static double angleLimit(double epsilon) {
+        return Math.cos(PI - epsilon);
+    }
+
+    /**
+     * Checks if the angle at the vertex (vx, vy) between the sides to (x1, y1) and to (x3, y3) is less than the limit
+     * angle with the given cosine. Since the cosine is decreasing on [0, PI], the angle is less than the limit exactly
+     * when its cosine dot / (|a| |b|) is greater than the limit cosine. Both sides of that comparison are squared,
+     * taking their signs into account, so no square root or arc cosine is needed. If |a|^2 |b|^2 overflows or
+     * underflows, the square roots are taken after all.
+     * <p>
+     * The angle is undefined if (x1, y1) or (x3, y3) coincides with the vertex, and then false is returned.
+     * @param cosLimit the cosine of the limit angle, see {@link #angleLimit}.
+     * @return true if the angle is less than the limit.
+     */
+    public static boolean angleLessThan(double x1, double y1, double vx, double vy, double x3, double y3,
+                                        double cosLimit) {
+        double ax = x1 - vx;
+        double ay = y1 - vy;
+        double bx = x3 - vx;
+        double by = y3 - vy;
+        double a2 = ax * ax + ay * ay;
+        double b2 = bx * bx + by * by;
+        if (a2 == 0 || b2 == 0)
+            return false;
+
+        // The angle is less than the limit if dot > cosLimit * |a| |b|.
+        double dot = ax * bx + ay * by;
+        double product = a2 * b2;
+        if (Double.isInfinite(product) || product < Double.MIN_NORMAL)
+            return dot > cosLimit * Math.sqrt(a2) * Math.sqrt(b2);
+
+        double squaredDot = dot * dot;
+        double squaredLimit = cosLimit * cosLimit * product;
+
+        if (dot >= 0) {
+            // A negative right-hand side is always less than the dot product.
+            return cosLimit < 0 || squaredDot > squaredLimit;
+        } else {
+            // A right-hand side that is not negative is never less than the dot product.
+            return cosLimit < 0 && squaredDot < squaredLimit;
+        }
+    }
+}
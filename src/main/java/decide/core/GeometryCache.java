@@ -0,0 +1,83 @@
+package decide.core;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The geometry of the windows of one vector of points, shared between the LICs of one CMV.
+ * <p>
+ * Several LICs look at the same windows: LICs 7 and 12 both measure the distances between the points i and
+ * i + K_PTS + 1, LICs 8 and 13 both need the circles around the same triples and LICs 10 and 14 both need the areas of
+ * the same triangles. There is one map for each kind of geometry, where the windows are keyed by their strides and
+ * are created the first time a LIC asks for them. The values of the windows are only computed as far as the LICs
+ * scan them, see {@link Windows}. The LICs of a CMV may be computed in parallel, so the maps are concurrent.
+ */
+class GeometryCache {
+
+    private final PointBuffer points;
+    private final ConcurrentHashMap<Long, Windows> distanceWindows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Windows> areaWindows = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Windows> radiusWindows = new ConcurrentHashMap<>();
+
+    GeometryCache(PointBuffer points) {
+        this.points = points;
+    }
+
+    /**
+     * Returns the squared distances between the points i and i + stride, where the ith window starts at point i.
+     * @return the squared distances.
+     */
+    Windows squaredDistances(int stride) {
+        return distanceWindows.computeIfAbsent(key(stride, 0), key -> new Windows(points.size() - stride) {
+            @Override
+            void compute(double[] values, int from, int to) {
+                for (int i = from; i < to; i++)
+                    values[i] = points.squaredDistance(i, i + stride);
+            }
+        });
+    }
+
+    /**
+     * Returns the areas of the triangles with the vertices i, i + second and i + third, where the ith window starts
+     * at point i.
+     * @return the triangle areas.
+     */
+    Windows areas(int second, int third) {
+        return areaWindows.computeIfAbsent(key(second, third), key -> new Windows(points.size() - third) {
+            @Override
+            void compute(double[] values, int from, int to) {
+                double[] xs = points.xs;
+                double[] ys = points.ys;
+                for (int i = from; i < to; i++) {
+                    int j = i + second;
+                    int k = i + third;
+                    values[i] = Geometry.triangleArea(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the squared radii of the smallest circles that enclose the points i, i + second and i + third, where
+     * the ith window starts at point i.
+     * @return the squared radii.
+     */
+    Windows squaredRadii(int second, int third) {
+        return radiusWindows.computeIfAbsent(key(second, third), key -> new Windows(points.size() - third) {
+            @Override
+            void compute(double[] values, int from, int to) {
+                double[] xs = points.xs;
+                double[] ys = points.ys;
+                for (int i = from; i < to; i++) {
+                    int j = i + second;
+                    int k = i + third;
+                    values[i] = MathTools.minimumEnclosingRadiusSquared(xs[i], ys[i], xs[j], ys[j], xs[k], ys[k]);
+                }
+            }
+        });
+    }
+
+    // Packs the two strides of a window into one key.
+    private static Long key(int first, int second) {
+        return (long) first << 32 | (second & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,247 @@
+package decide.core;
+
+import java.util.Arrays;
+
+/**
+ * A segment tree over a vector of points, where every node stores the convex hull of its points. It answers the
+ * questions of LIC 6 for any range of points: how far the points are from a line and from a point at most.
+ * <p>
+ * The distance from a line is |cross(first, last, p)| / |last - first|, and the cross product is a linear function of
+ * p, so it is largest and smallest at vertices of the convex hull. Along one chain of a hull, the sorted vertices
+ * rotate in one direction, so a linear function first increases and then decreases or the other way around, and its
+ * extremes are found with a binary search. A range is covered by O(log N) nodes, so the distance from a line takes
+ * O(log^2 N) time. The distance from a point is convex as well, but not unimodal along a chain, so it takes
+ * O(H log N) time for hulls with at most H vertices. Building the tree takes O(N log N) time and memory.
+ * <p>
+ * The coordinates must not be NaN, since NaN has no place in the order of the points.
+ */
+class HullTree {
+
+    // Nodes with at most this many points are not split further, and partly covered leaves are scanned point by point.
+    private static final int LEAF_SIZE = 16;
+
+    private final double[] xs;
+    private final double[] ys;
+
+    // Node k covers the points from lo[k] up to, but not including, hi[k], and has the children left[k] and
+    // right[k], or -1 if it is a leaf. The root is node 0.
+    private final int[] lo;
+    private final int[] hi;
+    private final int[] left;
+    private final int[] right;
+
+    // The lower and the upper chain of the hull of node k, as indices of the points sorted by x and then by y.
+    // Both chains start at the leftmost and end at the rightmost point of the hull.
+    private final int[][] lower;
+    private final int[][] upper;
+
+    private int nodes;
+
+    /**
+     * Builds the tree over the given points.
+     * @param xs the x-coordinates, none of which is NaN.
+     * @param ys the y-coordinates, none of which is NaN.
+     */
+    HullTree(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+        // Every leaf has at least half of LEAF_SIZE points, unless it is the root, and there are fewer than twice as
+        // many nodes as leaves.
+        int capacity = 2 * (2 * xs.length / LEAF_SIZE + 1);
+        lo = new int[capacity];
+        hi = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+        lower = new int[capacity][];
+        upper = new int[capacity][];
+        if (xs.length > 0)
+            build(0, xs.length);
+    }
+
+    /**
+     * Computes the largest absolute cross product cross(first, last, p) of the points p from the index from up to,
+     * but not including, the index to, exactly as {@link Geometry#cross} computes it for the farthest point.
+     * @return the largest absolute cross product, or 0 if the range is empty.
+     */
+    double maxAbsCross(int from, int to, double x1, double y1, double x2, double y2) {
+        if (from >= to)
+            return 0;
+        return maxAbsCross(0, from, to, x1, y1, x2, y2);
+    }
+
+    /**
+     * Computes the largest squared distance from (x, y) to the points from the index from up to, but not including,
+     * the index to.
+     * @return the largest squared distance, or 0 if the range is empty.
+     */
+    double maxSquaredDistance(int from, int to, double x, double y) {
+        if (from >= to)
+            return 0;
+        return maxSquaredDistance(0, from, to, x, y);
+    }
+
+    private double maxAbsCross(int node, int from, int to, double x1, double y1, double x2, double y2) {
+        if (to <= lo[node] || hi[node] <= from)
+            return 0;
+        if (from <= lo[node] && hi[node] <= to) {
+            return Math.max(chainMaxAbsCross(lower[node], x1, y1, x2, y2),
+                    chainMaxAbsCross(upper[node], x1, y1, x2, y2));
+        }
+        if (left[node] < 0) {
+            double max = 0;
+            for (int i = Math.max(from, lo[node]); i < Math.min(to, hi[node]); i++)
+                max = Math.max(max, Math.abs(Geometry.cross(x1, y1, x2, y2, xs[i], ys[i])));
+            return max;
+        }
+        return Math.max(maxAbsCross(left[node], from, to, x1, y1, x2, y2),
+                maxAbsCross(right[node], from, to, x1, y1, x2, y2));
+    }
+
+    private double maxSquaredDistance(int node, int from, int to, double x, double y) {
+        if (to <= lo[node] || hi[node] <= from)
+            return 0;
+        if (from <= lo[node] && hi[node] <= to)
+            return Math.max(chainMaxSquaredDistance(lower[node], x, y), chainMaxSquaredDistance(upper[node], x, y));
+        if (left[node] < 0) {
+            double max = 0;
+            for (int i = Math.max(from, lo[node]); i < Math.min(to, hi[node]); i++)
+                max = Math.max(max, squaredDistance(i, x, y));
+            return max;
+        }
+        return Math.max(maxSquaredDistance(left[node], from, to, x, y),
+                maxSquaredDistance(right[node], from, to, x, y));
+    }
+
+    // The cross product changes by cross(u, e) along the edge e, where u = (x2 - x1, y2 - y1). The largest value of
+    // the chain is where the change turns from positive to negative, and the smallest where it turns from negative to
+    // positive, unless they are at the ends of the chain.
+    private double chainMaxAbsCross(int[] chain, double x1, double y1, double x2, double y2) {
+        double ux = x2 - x1;
+        double uy = y2 - y1;
+        int last = chain.length - 1;
+        int peak = firstTurn(chain, ux, uy, true);
+        int valley = firstTurn(chain, ux, uy, false);
+
+        double max = Math.abs(Geometry.cross(x1, y1, x2, y2, xs[chain[0]], ys[chain[0]]));
+        max = Math.max(max, Math.abs(Geometry.cross(x1, y1, x2, y2, xs[chain[last]], ys[chain[last]])));
+        max = Math.max(max, Math.abs(Geometry.cross(x1, y1, x2, y2, xs[chain[peak]], ys[chain[peak]])));
+        return Math.max(max, Math.abs(Geometry.cross(x1, y1, x2, y2, xs[chain[valley]], ys[chain[valley]])));
+    }
+
+    // Finds the first vertex k where the change along the edge from vertex k to k + 1 is not positive (down = true)
+    // or not negative (down = false), or the last vertex if there is none.
+    private int firstTurn(int[] chain, double ux, double uy, boolean down) {
+        int low = 0;
+        int high = chain.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double ex = xs[chain[mid + 1]] - xs[chain[mid]];
+            double ey = ys[chain[mid + 1]] - ys[chain[mid]];
+            double change = ux * ey - uy * ex;
+            if (down ? change <= 0 : change >= 0)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+        return low;
+    }
+
+    private double chainMaxSquaredDistance(int[] chain, double x, double y) {
+        double max = 0;
+        for (int i : chain)
+            max = Math.max(max, squaredDistance(i, x, y));
+        return max;
+    }
+
+    // Computes the squared distance exactly like PointBuffer.squaredDistance.
+    private double squaredDistance(int i, double x, double y) {
+        double dx = xs[i] - x;
+        double dy = ys[i] - y;
+        return dx * dx + dy * dy;
+    }
+
+    // Builds the node for the points from lo up to, but not including, hi, and returns its index.
+    private int build(int from, int to) {
+        int node = nodes++;
+        lo[node] = from;
+        hi[node] = to;
+
+        int[] sorted;
+        if (to - from <= LEAF_SIZE) {
+            left[node] = -1;
+            right[node] = -1;
+            sorted = new int[to - from];
+            for (int i = 0; i < sorted.length; i++)
+                sorted[i] = from + i;
+            insertionSort(sorted);
+        } else {
+            int mid = (from + to) >>> 1;
+            int l = build(from, mid);
+            int r = build(mid, to);
+            left[node] = l;
+            right[node] = r;
+            // Only the hull vertices of the children can be vertices of the hull of the node.
+            sorted = merge(merge(lower[l], upper[l]), merge(lower[r], upper[r]));
+        }
+
+        lower[node] = chain(sorted, true);
+        upper[node] = chain(sorted, false);
+        return node;
+    }
+
+    // Andrew's monotone chain over points sorted by x and then by y. Collinear and repeated points are dropped,
+    // except that a chain always has at least its two ends.
+    private int[] chain(int[] sorted, boolean lowerChain) {
+        int[] chain = new int[sorted.length];
+        int size = 0;
+        for (int i : sorted) {
+            while (size >= 2) {
+                double cross = Geometry.cross(xs[chain[size - 2]], ys[chain[size - 2]],
+                        xs[chain[size - 1]], ys[chain[size - 1]], xs[i], ys[i]);
+                if (lowerChain ? cross > 0 : cross < 0)
+                    break;
+                size--;
+            }
+            chain[size++] = i;
+        }
+        return Arrays.copyOf(chain, size);
+    }
+
+    // Merges two vectors of indices sorted by x and then by y, dropping indices that are in both.
+    private int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length || j < b.length) {
+            int next;
+            if (j == b.length || i < a.length && compare(a[i], b[j]) <= 0)
+                next = a[i++];
+            else
+                next = b[j++];
+            if (size == 0 || merged[size - 1] != next)
+                merged[size++] = next;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private void insertionSort(int[] indices) {
+        for (int i = 1; i < indices.length; i++) {
+            int index = indices[i];
+            int j = i - 1;
+            while (j >= 0 && compare(indices[j], index) > 0) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = index;
+        }
+    }
+
+    // Orders the points by x, then by y and then by index, so that equal points still have a fixed order.
+    private int compare(int i, int j) {
+        int c = Double.compare(xs[i], xs[j]);
+        if (c == 0)
+            c = Double.compare(ys[i], ys[j]);
+        return c != 0 ? c : Integer.compare(i, j);
+    }
+}
@@ -0,0 +1,308 @@
+package decide.core;
+
+/**
+ * Represents the Conditions Met Vector (CMV) of a stream of points, where the points are kept in a bounded
+ * ring buffer. Every LIC is a search for at least one window of points that satisfies a condition, so instead
+ * of recomputing the LICs over all points this class keeps, for every LIC, the result of each window and the
+ * number of satisfying windows. Appending a point only evaluates the windows that end at the new point, and
+ * evicting a point only forgets the windows that start at it.
+ * <p>
+ * After any sequence of appends and evictions, {@code get(i)} is the same as for a {@code CMV} that is computed
+ * from the points currently in the buffer, in the order they were appended.
+ */
+public class IncrementalCMV {
+
+    // Bits in the window flags. The dual LICs 12, 13 and 14 use both bits, the other LICs only use the first.
+    private static final byte FIRST = 1;
+    private static final byte SECOND = 2;
+
+    private final Parameters parameters;
+    private final int capacity;
+
+    // The cosine of PI - EPSILON, which the angles of LICs 2 and 9 are compared against.
+    private final double cosLimit;
+
+    // The number of points in each window of each LIC.
+    private final int[] spans = new int[CMV.CMV_SIZE];
+
+    // The points in the ring buffer, the point with the sequence number s is stored at index s % capacity.
+    private final Point[] points;
+    private final double[] xs;
+    private final double[] ys;
+    private final byte[] quadrants;
+
+    // windows[i][s % capacity] holds the flags of the window of LIC i that starts at the point with sequence number s.
+    private final byte[][] windows;
+
+    // counts[i][0] and counts[i][1] are the number of windows of LIC i that have the first and second flag set.
+    private final int[][] counts = new int[CMV.CMV_SIZE][2];
+
+    // The number of points in each quadrant among the last Q_PTS points that are still in the buffer.
+    private final int[] quadrantCounts = new int[4];
+
+    // Sequence numbers of the oldest point in the buffer and of the next point that will be appended.
+    private long first;
+    private long end;
+
+    /**
+     * Creates an empty incremental CMV.
+     * @param parameters the parameter values that will be used when computing the LICs.
+     * @param capacity the maximum number of points in the buffer.
+     * @throws IllegalArgumentException if the capacity is less than 1 or if a window size in the parameters is
+     * below its lower bound in the requirements specification.
+     */
+    public IncrementalCMV(Parameters parameters, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        if (parameters.Q_PTS < 2 || parameters.N_PTS < 3 || parameters.K_PTS < 1 || parameters.A_PTS < 1 ||
+                parameters.B_PTS < 1 || parameters.C_PTS < 1 || parameters.D_PTS < 1 || parameters.E_PTS < 1 ||
+                parameters.F_PTS < 1 || parameters.G_PTS < 1) {
+            throw new IllegalArgumentException("Window sizes must conform to the requirements specification.");
+        }
+
+        this.parameters = parameters;
+        this.capacity = capacity;
+        this.cosLimit = Geometry.angleLimit(parameters.EPSILON);
+        this.points = new Point[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.quadrants = new byte[capacity];
+        this.windows = new byte[CMV.CMV_SIZE][capacity];
+
+        spans[0] = 2;
+        spans[1] = 3;
+        spans[2] = 3;
+        spans[3] = 3;
+        spans[4] = parameters.Q_PTS;
+        spans[5] = 2;
+        spans[6] = parameters.N_PTS;
+        spans[7] = parameters.K_PTS + 2;
+        spans[8] = parameters.A_PTS + parameters.B_PTS + 3;
+        spans[9] = parameters.C_PTS + parameters.D_PTS + 3;
+        spans[10] = parameters.E_PTS + parameters.F_PTS + 3;
+        spans[11] = parameters.G_PTS + 2;
+        spans[12] = parameters.K_PTS + 2;
+        spans[13] = parameters.A_PTS + parameters.B_PTS + 3;
+        spans[14] = parameters.E_PTS + parameters.F_PTS + 3;
+    }
+
+    /**
+     * Returns the ith element of the CMV vector for the points currently in the buffer.
+     * @return ith element of the CMV vector.
+     */
+    public boolean get(int i) {
+        switch (i) {
+            case 12:
+            case 13:
+            case 14:
+                return counts[i][0] > 0 && counts[i][1] > 0;
+            default:
+                return counts[i][0] > 0;
+        }
+    }
+
+    /**
+     * Returns the number of points in the buffer.
+     * @return the number of points.
+     */
+    public int size() {
+        return (int) (end - first);
+    }
+
+    /**
+     * Returns the maximum number of points in the buffer.
+     * @return the capacity.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends a point to the stream. If the buffer is full, the oldest point is evicted first.
+     * @param point the new point.
+     */
+    public void append(Point point) {
+        if (size() == capacity) {
+            evict();
+        }
+
+        long e = end++;
+        int slot = slot(e);
+        points[slot] = point;
+        xs[slot] = point.x;
+        ys[slot] = point.y;
+        quadrants[slot] = (byte) point.getQuadrant().ordinal();
+
+        // Keep the quadrant counts for the window of the last Q_PTS points.
+        quadrantCounts[quadrants[slot]]++;
+        if (e - parameters.Q_PTS >= first) {
+            quadrantCounts[quadrants[slot(e - parameters.Q_PTS)]]--;
+        }
+
+        for (int i = 0; i < CMV.CMV_SIZE; i++) {
+            long start = e - spans[i] + 1;
+            if (start < first)
+                continue;
+
+            byte flags = window(i, start);
+            windows[i][slot(start)] = flags;
+            if ((flags & FIRST) != 0)
+                counts[i][0]++;
+            if ((flags & SECOND) != 0)
+                counts[i][1]++;
+        }
+    }
+
+    /**
+     * Evicts the oldest point from the buffer.
+     * @throws IllegalStateException if the buffer is empty.
+     */
+    public void evict() {
+        if (size() == 0) {
+            throw new IllegalStateException("The buffer is empty.");
+        }
+
+        long s = first;
+
+        // Every window that starts at the evicted point is forgotten.
+        for (int i = 0; i < CMV.CMV_SIZE; i++) {
+            if (s + spans[i] > end)
+                continue;
+
+            byte flags = windows[i][slot(s)];
+            if ((flags & FIRST) != 0)
+                counts[i][0]--;
+            if ((flags & SECOND) != 0)
+                counts[i][1]--;
+        }
+
+        // The evicted point is only in the quadrant counts if it is one of the last Q_PTS points.
+        if (s >= end - parameters.Q_PTS) {
+            quadrantCounts[quadrants[slot(s)]]--;
+        }
+
+        points[slot(s)] = null;
+        first++;
+    }
+
+    private int slot(long sequenceNumber) {
+        return (int) (sequenceNumber % capacity);
+    }
+
+    // Evaluates the window of LIC i that starts at the point with sequence number s, and returns its flags.
+    private byte window(int i, long s) {
+        int a = slot(s);
+        switch (i) {
+            case 0:
+                return flag(MathTools.lengthGreaterThan(squaredDistance(a, slot(s + 1)), parameters.LENGTH1));
+            case 1:
+                return flag(!MathTools.lengthAtMost(squaredRadius(a, slot(s + 1), slot(s + 2)), parameters.RADIUS1));
+            case 2:
+                return flag(angleSatisfied(a, slot(s + 1), slot(s + 2)));
+            case 3:
+                return flag(area(a, slot(s + 1), slot(s + 2)) > parameters.AREA1);
+            case 4:
+                return flag(distinctQuadrants() > parameters.QUADS);
+            case 5:
+                return flag(xs[slot(s + 1)] - xs[a] < 0);
+            case 6:
+                return flag(farFromLine(s));
+            case 7:
+                return flag(MathTools.lengthGreaterThan(squaredDistance(a, slot(s + parameters.K_PTS + 1)),
+                        parameters.LENGTH1));
+            case 8:
+                return flag(!MathTools.lengthAtMost(squaredRadius(a, slot(s + parameters.A_PTS + 1),
+                        slot(s + parameters.A_PTS + parameters.B_PTS + 2)), parameters.RADIUS1));
+            case 9:
+                return flag(angleSatisfied(a, slot(s + parameters.C_PTS + 1),
+                        slot(s + parameters.C_PTS + parameters.D_PTS + 2)));
+            case 10:
+                return flag(area(a, slot(s + parameters.E_PTS + 1),
+                        slot(s + parameters.E_PTS + parameters.F_PTS + 2)) > parameters.AREA1);
+            case 11:
+                return flag(xs[slot(s + parameters.G_PTS + 1)] - xs[a] < 0);
+            case 12: {
+                double squaredDistance = squaredDistance(a, slot(s + parameters.K_PTS + 1));
+                return flags(MathTools.lengthGreaterThan(squaredDistance, parameters.LENGTH1),
+                        MathTools.lengthLessThan(squaredDistance, parameters.LENGTH2));
+            }
+            case 13: {
+                // The same smallest circle is compared against both radii.
+                double squaredRadius = squaredRadius(a, slot(s + parameters.A_PTS + 1),
+                        slot(s + parameters.A_PTS + parameters.B_PTS + 2));
+                return flags(!MathTools.lengthAtMost(squaredRadius, parameters.RADIUS1),
+                        MathTools.lengthAtMost(squaredRadius, parameters.RADIUS2));
+            }
+            case 14: {
+                double area = area(a, slot(s + parameters.E_PTS + 1),
+                        slot(s + parameters.E_PTS + parameters.F_PTS + 2));
+                return flags(area > parameters.AREA1, area < parameters.AREA2);
+            }
+            default:
+                throw new IllegalArgumentException("There is no LIC " + i);
+        }
+    }
+
+    private static byte flag(boolean first) {
+        return first ? FIRST : 0;
+    }
+
+    private static byte flags(boolean first, boolean second) {
+        return (byte) ((first ? FIRST : 0) | (second ? SECOND : 0));
+    }
+
+    private double squaredDistance(int a, int b) {
+        double dx = xs[a] - xs[b];
+        double dy = ys[a] - ys[b];
+        return dx * dx + dy * dy;
+    }
+
+    private double squaredRadius(int a, int b, int c) {
+        return MathTools.minimumEnclosingRadiusSquared(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    private double area(int a, int b, int c) {
+        return Geometry.triangleArea(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c]);
+    }
+
+    // The angle condition of LICs 2 and 9, where the vertex is the point in slot b.
+    private boolean angleSatisfied(int a, int b, int c) {
+        if (points[a].equals(points[b]) || points[c].equals(points[b]))
+            return false;
+        return Geometry.angleLessThan(xs[a], ys[a], xs[b], ys[b], xs[c], ys[c], cosLimit);
+    }
+
+    private int distinctQuadrants() {
+        int distinct = 0;
+        for (int count : quadrantCounts) {
+            if (count > 0)
+                distinct++;
+        }
+        return distinct;
+    }
+
+    // The distance condition of LIC 6 for the window of N_PTS points that starts with sequence number s.
+    private boolean farFromLine(long s) {
+        int first = slot(s);
+        int last = slot(s + parameters.N_PTS - 1);
+
+        if (points[first].equals(points[last])) {
+            for (long j = s + 1; j < s + parameters.N_PTS - 1; j++) {
+                if (MathTools.lengthGreaterThan(squaredDistance(slot(j), first), parameters.DIST))
+                    return true;
+            }
+            return false;
+        }
+
+        // The same squared distance cross^2 / |last - first|^2 as in CMV.lic6().
+        double lineScale = 1 / squaredDistance(first, last);
+        for (long j = s + 1; j < s + parameters.N_PTS - 1; j++) {
+            int p = slot(j);
+            double cross = Geometry.cross(xs[first], ys[first], xs[last], ys[last], xs[p], ys[p]);
+            if (MathTools.lengthGreaterThan(cross * cross * lineScale, parameters.DIST))
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,47 @@
+package decide.core;
+
+/**
+ * Selects the implementations of the kernels that the LICs use. The stride kernels are selected with the system
+ * property {@value #PROPERTY}:
+ * <ul>
+ *     <li>{@code scalar} (the default) uses {@link ScalarStrideKernels}.</li>
+ *     <li>{@code vector} uses the SIMD kernels in {@code decide.vector}, which need the library
+ *     {@code //src/main/java/decide/vector} on the class path and the JVM flag
+ *     {@code --add-modules jdk.incubator.vector}. If either is missing, the scalar kernels are used instead.</li>
+ * </ul>
+ * The property is read once, when the kernels are first used.
+ */
+public class Kernels {
+
+    // The system property that selects the stride kernels.
+    public static final String PROPERTY = "decide.kernels";
+
+    // Loaded by reflection, since the core library does not depend on the incubating Vector API.
+    private static final String VECTOR_STRIDE_KERNELS = "decide.vector.VectorStrideKernels";
+
+    private static final StrideKernels STRIDE = load(System.getProperty(PROPERTY, "scalar"));
+
+    /**
+     * Returns the stride kernels that were selected with the system property.
+     * @return the stride kernels.
+     */
+    public static StrideKernels stride() {
+        return STRIDE;
+    }
+
+    /**
+     * Loads the stride kernels with the given name, {@code scalar} or {@code vector}.
+     * @param name the name of the kernels.
+     * @return the stride kernels, or the scalar kernels if the named kernels are not available.
+     */
+    public static StrideKernels load(String name) {
+        if ("vector".equals(name)) {
+            try {
+                return (StrideKernels) Class.forName(VECTOR_STRIDE_KERNELS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // The library is not on the class path, or the jdk.incubator.vector module has not been added.
+            }
+        }
+        return new ScalarStrideKernels();
+    }
+}
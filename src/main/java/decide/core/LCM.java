@@ -17,6 +17,12 @@ public class LCM {
 
     private Value[][] lcm = new Value[LCM_SIZE][LCM_SIZE];
 
+    // The same matrix packed into one bit mask per row and value: bit j of anddRows[i] is set if LCM[i][j] is ANDD,
+    // and likewise for ORR and NOTUSED. Entries that have not been set yet are in none of the masks.
+    private final int[] anddRows = new int[LCM_SIZE];
+    private final int[] orrRows = new int[LCM_SIZE];
+    private final int[] notUsedRows = new int[LCM_SIZE];
+
     /**
      * Set the value of LCM[i][j] to ANDD, ORR or NOTUSED.
      * @param i the row.
@@ -25,6 +31,18 @@ public class LCM {
      */
     public void set(int i, int j, Value v) {
         lcm[i][j] = v;
+
+        int bit = 1 << j;
+        anddRows[i] &= ~bit;
+        orrRows[i] &= ~bit;
+        notUsedRows[i] &= ~bit;
+        if (v == Value.ANDD) {
+            anddRows[i] |= bit;
+        } else if (v == Value.ORR) {
+            orrRows[i] |= bit;
+        } else if (v == Value.NOTUSED) {
+            notUsedRows[i] |= bit;
+        }
     }
 
     /**
@@ -36,4 +54,31 @@ public class LCM {
     public Value get(int i, int j) {
         return lcm[i][j];
     }
+
+    /**
+     * Returns the columns j where LCM[i][j] is ANDD, as a bit mask where bit j is set for each such column.
+     * @param i the row.
+     * @return a bit mask.
+     */
+    int anddRow(int i) {
+        return anddRows[i];
+    }
+
+    /**
+     * Returns the columns j where LCM[i][j] is ORR, as a bit mask where bit j is set for each such column.
+     * @param i the row.
+     * @return a bit mask.
+     */
+    int orrRow(int i) {
+        return orrRows[i];
+    }
+
+    /**
+     * Returns the columns j where LCM[i][j] is NOTUSED, as a bit mask where bit j is set for each such column.
+     * @param i the row.
+     * @return a bit mask.
+     */
+    int notUsedRow(int i) {
+        return notUsedRows[i];
+    }
 }
@@ -1,93 +1,150 @@
 package decide.core;
 
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collectors;
-
-import static java.lang.Math.pow;
-import static java.lang.Math.sqrt;
-
 public class MathTools {
+
+    /**
+     * Checks if three points can all be contained within or on a circle of the given radius.
+     * @param p1 the first point.
+     * @param p2 the second point.
+     * @param p3 the third point.
+     * @param radius the radius of the circle.
+     * @return true if the points are covered by a circle with the radius.
+     */
     public static boolean pointsAreCoveredByCircle(Point p1, Point p2, Point p3, double radius){
-        if (p1.equals(p2) && p1.equals(p3) && p2.equals(p3)) {
-            return true;
-        }
-        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3)) {
-            Point coincide = null;      // Represents the point where two points coincide.
-            Point remaining = null;     // Represents the other remaining point that does not coincide.
+        return pointsAreCoveredByCircle(p1.x, p1.y, p2.x, p2.y, p3.x, p3.y, radius);
+    }
 
-            // Figure out which two points coincide.
-            if (p1.equals(p2)) {
-                coincide = p1;
-                remaining = p3;
-            }
-            else if (p1.equals(p3)) {
-                coincide = p1;
-                remaining = p2;
-            } else {
-                // p2.equals(p3) must be true here.
-                coincide = p2;
-                remaining = p1;
-            }
+    /**
+     * Checks if the three points (x1, y1), (x2, y2) and (x3, y3) can all be contained within or on a circle of the
+     * given radius. This is the case exactly when the smallest circle that encloses the points has a radius that is
+     * not greater than the given radius, which can be computed in closed form without creating any objects.
+     * No points are covered by a circle with a negative radius, and points with a NaN coordinate are never covered
+     * unless all three coincide.
+     * @return true if the points are covered by a circle with the radius.
+     */
+    public static boolean pointsAreCoveredByCircle(double x1, double y1, double x2, double y2, double x3, double y3,
+                                                   double radius) {
+        return lengthAtMost(minimumEnclosingRadiusSquared(x1, y1, x2, y2, x3, y3), radius);
+    }
 
-            return Point.euclidianDistanceBetween(coincide, remaining) <= 2 * radius;
-        }
+    /**
+     * Computes the radius of the smallest circle that encloses three points.
+     * @param p1 the first point.
+     * @param p2 the second point.
+     * @param p3 the third point.
+     * @return the radius of the smallest enclosing circle.
+     */
+    public static double minimumEnclosingRadius(Point p1, Point p2, Point p3) {
+        return Math.sqrt(minimumEnclosingRadiusSquared(p1.x, p1.y, p2.x, p2.y, p3.x, p3.y));
+    }
 
-        Optional<Boolean> isCoveredByAtLeastOneCircle = calculateAllCircleFocusAndVerifierPointPairs(p1, p2, p3, radius)
-                .stream()
-                .map(p -> Point.euclidianDistanceBetween(p.getFirst(), p.getSecond()) <= radius)
-                .reduce((a, b) -> a||b);
-        if (isCoveredByAtLeastOneCircle.orElse(false)) {
-            return true;
-        }
+    /**
+     * Computes the squared radius of the smallest circle that encloses the three points (x1, y1), (x2, y2) and
+     * (x3, y3). If two of the points coincide, the smallest circle has the distance between the two different points
+     * as its diameter, and if all three coincide, the radius is 0. The squared radius only has to be computed once
+     * for each triple, and the points are then covered by a circle of the radius r exactly when
+     * {@code lengthAtMost(squaredRadius, r)} is true, for any number of radii.
+     * @return the squared radius of the smallest enclosing circle.
+     */
+    public static double minimumEnclosingRadiusSquared(double x1, double y1, double x2, double y2,
+                                                       double x3, double y3) {
+        boolean p1EqualsP2 = Double.compare(x1, x2) == 0 && Double.compare(y1, y2) == 0;
+        boolean p1EqualsP3 = Double.compare(x1, x3) == 0 && Double.compare(y1, y3) == 0;
+        boolean p2EqualsP3 = Double.compare(x2, x3) == 0 && Double.compare(y2, y3) == 0;
 
-        return false;
-    }
+        if (p1EqualsP2 && p1EqualsP3) {
+            return 0;
+        }
+        if (p1EqualsP2 || p1EqualsP3 || p2EqualsP3) {
+            double dx = p1EqualsP2 ? x1 - x3 : x1 - x2;
+            double dy = p1EqualsP2 ? y1 - y3 : y1 - y2;
+            return (dx * dx + dy * dy) / 4;
+        }
 
-    private static List<Point.Pair> calculateAllCircleFocusAndVerifierPointPairs(Point p1, Point p2, Point p3, double radius) {
-        // The Circle focuses are computed from 2 points and then paired with the 3rd
-        List<Point.Pair> toBeReturned = calculateTwoFocusesOfCirclesPassingThrough(p1, p2, radius).stream()
-                .map((Point p) -> new Point.Pair(p, p3)).collect(Collectors.toList());
-        toBeReturned.addAll(calculateTwoFocusesOfCirclesPassingThrough(p2, p3, radius).stream()
-                .map((Point p) -> new Point.Pair(p, p1)).collect(Collectors.toList()));
-        toBeReturned.addAll(calculateTwoFocusesOfCirclesPassingThrough(p3, p1, radius).stream()
-                .map((Point p) -> new Point.Pair(p, p2)).collect(Collectors.toList()));
-        return toBeReturned;
+        return distinctMinimumEnclosingRadiusSquared(x1, y1, x2, y2, x3, y3);
     }
 
-    private static List<Point> calculateTwoFocusesOfCirclesPassingThrough(Point x, Point y, double radius) {
-        // The mathematics in this method are calculated from a
-        // Link: https://web.archive.org/web/20141008055635/http://mathforum.org/library/drmath/view/53027.html
-        double distanceBetweenXY = Point.euclidianDistanceBetween(x, y);
-        Point pointBetweenXY = Point.createPointBetween(x, y);
+    /**
+     * Computes the squared radius of the smallest circle that encloses three distinct points.
+     * If the triangle formed by the points has a right or an obtuse angle, the longest side is a diameter of the
+     * smallest circle. Otherwise, the triangle is acute and the smallest circle is the circumscribed circle with the
+     * radius R = abc / (4 * area), where a, b and c are the side lengths.
+     */
+    private static double distinctMinimumEnclosingRadiusSquared(double x1, double y1, double x2, double y2,
+                                                                double x3, double y3) {
+        // The squared side lengths, a is the side opposite of the first point and so on.
+        double a2 = (x2 - x3) * (x2 - x3) + (y2 - y3) * (y2 - y3);
+        double b2 = (x1 - x3) * (x1 - x3) + (y1 - y3) * (y1 - y3);
+        double c2 = (x1 - x2) * (x1 - x2) + (y1 - y2) * (y1 - y2);
 
-        // Calculate the normalized vector perpendicular to the  line between X and Y as the circle focuses will
-        // be on the line defined by it.
-        double[] normVector = calculateNormalizedVectorPerpendicularToLineBetween(x, y);
+        // By the law of cosines, the angle opposite of the longest side is at least a right angle exactly when
+        // the squared longest side is at least the sum of the other two squared sides.
+        double longest2 = Math.max(a2, Math.max(b2, c2));
+        if (2 * longest2 >= a2 + b2 + c2) {
+            return longest2 / 4;
+        }
 
-        // Using Pythagoras since we now have a fair triangle
-        double distanceFromPointBetweenXYToFocus = sqrt(pow(radius, 2) - pow(distanceBetweenXY/2, 2));
+        // The cross product is twice the signed area of the triangle, so R^2 = a^2 b^2 c^2 / (4 * cross^2).
+        double cross = (x2 - x1) * (y3 - y1) - (y2 - y1) * (x3 - x1);
+        return a2 * b2 * c2 / (4 * cross * cross);
+    }
 
-        return calculateTwoCircleFocusesOnLine(pointBetweenXY, distanceFromPointBetweenXYToFocus, normVector);
+    /**
+     * Checks if a length is greater than a bound, given the squared length, without taking a square root.
+     * This is the same as {@code Math.sqrt(squaredLength) > bound}, except when the length and the bound are within
+     * a rounding error of each other, where neither form is exact. A negative bound is always exceeded by a length
+     * that is not NaN, and a NaN length or bound never exceeds or is exceeded by anything, just like with the square
+     * root. If the squared bound overflows or underflows, the square root is taken after all.
+     * @param squaredLength the squared length.
+     * @param bound the bound.
+     * @return true if the length is greater than the bound.
+     */
+    public static boolean lengthGreaterThan(double squaredLength, double bound) {
+        if (bound < 0)
+            return squaredLength >= 0;
+        double squaredBound = bound * bound;
+        if (!isRepresentableSquare(bound, squaredBound))
+            return Math.sqrt(squaredLength) > bound;
+        return squaredLength > squaredBound;
+    }
 
+    /**
+     * Checks if a length is less than a bound, given the squared length, without taking a square root.
+     * This is the same as {@code Math.sqrt(squaredLength) < bound}, with the same edge cases as
+     * {@link #lengthGreaterThan}. No length is less than a bound that is zero or negative.
+     * @param squaredLength the squared length.
+     * @param bound the bound.
+     * @return true if the length is less than the bound.
+     */
+    public static boolean lengthLessThan(double squaredLength, double bound) {
+        if (!(bound > 0))
+            return false;
+        double squaredBound = bound * bound;
+        if (!isRepresentableSquare(bound, squaredBound))
+            return Math.sqrt(squaredLength) < bound;
+        return squaredLength < squaredBound;
     }
 
-    private static List<Point> calculateTwoCircleFocusesOnLine(Point point, double distanceFromPointToFocus, double[] normalizedVector) {
-        return Arrays.asList(
-                new Point(
-                        point.x + distanceFromPointToFocus * normalizedVector[0],
-                        point.y + distanceFromPointToFocus * normalizedVector[1]
-                ),
-                new Point(
-                        point.x - distanceFromPointToFocus * normalizedVector[0],
-                        point.y - distanceFromPointToFocus * normalizedVector[1]
-                )
-        );
+    /**
+     * Checks if a length is less than or equal to a bound, given the squared length, without taking a square root.
+     * This is the same as {@code Math.sqrt(squaredLength) <= bound}, with the same edge cases as
+     * {@link #lengthGreaterThan}. No length is less than or equal to a negative bound.
+     * @param squaredLength the squared length.
+     * @param bound the bound.
+     * @return true if the length is less than or equal to the bound.
+     */
+    public static boolean lengthAtMost(double squaredLength, double bound) {
+        if (!(bound >= 0))
+            return false;
+        double squaredBound = bound * bound;
+        if (!isRepresentableSquare(bound, squaredBound))
+            return Math.sqrt(squaredLength) <= bound;
+        return squaredLength <= squaredBound;
     }
 
-    private static double[] calculateNormalizedVectorPerpendicularToLineBetween(Point x, Point y) {
-        double distanceBetweenXY = Point.euclidianDistanceBetween(x, y);
-        return new double[]{(x.y-y.y)/distanceBetweenXY, (y.x-x.x)/distanceBetweenXY};
+    // Checks that squaring the non-negative bound neither overflowed to infinity nor lost precision by underflowing
+    // to a subnormal number or zero. A bound of zero squares to exactly zero.
+    private static boolean isRepresentableSquare(double bound, double squaredBound) {
+        return squaredBound != Double.POSITIVE_INFINITY && (squaredBound >= Double.MIN_NORMAL || bound == 0);
     }
 }
@@ -7,7 +7,11 @@ public class PUM {
 
     public static final int PUM_SIZE = 15;
 
-    private boolean[][] pum = new boolean[PUM_SIZE][PUM_SIZE];
+    // Bit mask with all the columns of a row set.
+    static final int FULL_ROW = (1 << PUM_SIZE) - 1;
+
+    // Each row is packed into a bit mask, where bit j of pum[i] is PUM[i][j].
+    private final int[] pum = new int[PUM_SIZE];
 
     /**
      * Creates the Preliminary Unlocking Matrix (PUM) from the LCM and the CMV.
@@ -18,6 +22,34 @@ public class PUM {
         computePUM(lcm, cmv);
     }
 
+    /**
+     * Creates the part of the Preliminary Unlocking Matrix (PUM) that the FUV reads for the given PUV.
+     * The FUV only reads the rows PUM[i] where PUV[i] is true, and never the diagonal entries PUM[i][i],
+     * so those entries are not computed and are left true, as if LCM[i][j] was NOTUSED.
+     * Together with a lazy CMV, only the LICs that can change the launch decision are computed.
+     * @param lcm the LCM.
+     * @param cmv the CMV.
+     * @param puv a boolean vector of length 15.
+     */
+    public PUM(LCM lcm, CMV cmv, boolean[] puv) {
+        for (int i = 0; i < PUM_SIZE; i++) {
+            verifyRow(lcm, i);
+            int diagonal = 1 << i;
+            int andd = lcm.anddRow(i) & ~diagonal;
+            int orr = lcm.orrRow(i) & ~diagonal;
+
+            if (!puv[i] || (andd | orr) == 0) {
+                pum[i] = FULL_ROW;
+            } else if (cmv.get(i)) {
+                // ORR entries are true, ANDD entries depend on CMV[j].
+                pum[i] = ~andd & FULL_ROW | cmv.mask(andd);
+            } else {
+                // ANDD entries are false, ORR entries depend on CMV[j].
+                pum[i] = ~(andd | orr) & FULL_ROW | cmv.mask(orr);
+            }
+        }
+    }
+
     /**
      * Get the boolean value of PUM[i][j].
      * @param i the row.
@@ -25,7 +57,7 @@ public class PUM {
      * @return a boolean value.
      */
     public boolean get(int i, int j) {
-        return pum[i][j];
+        return (pum[i] & (1 << j)) != 0;
     }
 
     /**
@@ -34,28 +66,79 @@ public class PUM {
      * @return a boolean array.
      */
     public boolean[] get(int i) {
+        boolean[] row = new boolean[PUM_SIZE];
+        for (int j = 0; j < PUM_SIZE; j++)
+            row[j] = get(i, j);
+        return row;
+    }
+
+    /**
+     * Get the whole row of PUM[i] as a bit mask, where bit j is PUM[i][j].
+     * @param i the row.
+     * @return a bit mask.
+     */
+    int row(int i) {
         return pum[i];
     }
 
-    // Computes the PUM according to the rules specified in section 2.2
-    private void computePUM(LCM lcm, CMV cmv) {
+    /**
+     * Finds the LICs that the launch decision can depend on for the given LCM and PUV. These are the LICs i and j
+     * of every entry PUM[i][j] that the FUV reads, where i != j and PUV[i] is true, and where LCM[i][j] is not
+     * NOTUSED. The other LICs cannot change the launch decision.
+     * @param lcm the LCM.
+     * @param puv a boolean vector of length 15.
+     * @return a vector where the ith element is true if the launch decision can depend on the ith LIC.
+     */
+    public static boolean[] referencedLICs(LCM lcm, boolean[] puv) {
+        boolean[] referenced = new boolean[PUM_SIZE];
         for (int i = 0; i < PUM_SIZE; i++) {
+            if (!puv[i])
+                continue;
+            int used = (lcm.anddRow(i) | lcm.orrRow(i)) & ~(1 << i);
+            if (used == 0)
+                continue;
+            referenced[i] = true;
             for (int j = 0; j < PUM_SIZE; j++) {
-                switch (lcm.get(i, j)) {
-                    case NOTUSED:
-                        // If LCM[i,j] is NOTUSED, then PUM[i,j] should be set to true.
-                        pum[i][j] = true;
-                        break;
-                    case ANDD:
-                        // If LCM[i,j] is ANDD, PUM[i,j] should be set to true only if (CMV[i] AND CMV[j]) is true.
-                        pum[i][j] = cmv.get(i) && cmv.get(j);
-                        break;
-                    case ORR:
-                        // If LCM[i,j] is ORR, PUM[i,j] should be set to true if (CMV[i] OR CMV[j]) is true.
-                        pum[i][j] = cmv.get(i) || cmv.get(j);
-                        break;
-                }
+                if ((used & (1 << j)) != 0)
+                    referenced[j] = true;
             }
         }
+        return referenced;
+    }
+
+    // Computes the PUM according to the rules specified in section 2.2, one row at a time.
+    private void computePUM(LCM lcm, CMV cmv) {
+        int c = cmv.mask();
+        for (int i = 0; i < PUM_SIZE; i++) {
+            verifyRow(lcm, i);
+            pum[i] = row(lcm, i, c);
+        }
+    }
+
+    /**
+     * Computes the row PUM[i] for a CMV according to the rules specified in section 2.2.
+     * @param lcm the LCM.
+     * @param i the row.
+     * @param cmv the CMV as a bit mask, where bit j is CMV[j].
+     * @return the row as a bit mask, where bit j is PUM[i][j].
+     */
+    static int row(LCM lcm, int i, int cmv) {
+        // If LCM[i,j] is NOTUSED, then PUM[i,j] should be set to true.
+        int row = lcm.notUsedRow(i);
+        if ((cmv & (1 << i)) != 0) {
+            // CMV[i] is true, so ANDD entries are CMV[j] and ORR entries are true.
+            row |= lcm.anddRow(i) & cmv | lcm.orrRow(i);
+        } else {
+            // CMV[i] is false, so ANDD entries are false and ORR entries are CMV[j].
+            row |= lcm.orrRow(i) & cmv;
+        }
+        return row;
+    }
+
+    // Every entry in the row must be ANDD, ORR or NOTUSED.
+    static void verifyRow(LCM lcm, int i) {
+        if ((lcm.anddRow(i) | lcm.orrRow(i) | lcm.notUsedRow(i)) != FULL_ROW) {
+            throw new IllegalStateException("Every entry in row " + i + " of the LCM must be set.");
+        }
     }
 }
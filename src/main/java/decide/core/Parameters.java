@@ -24,15 +24,53 @@ public class Parameters {
     public double RADIUS2;      // Maximum radius in LIC 13
     public double AREA2;        // Maximum area in LIC 14
 
+    // The largest number of points that the requirements specification allows.
+    private static final int MAX_POINTS = 100;
+
     /**
      * Verifies that all properties are conforming to the requirements specification (RS).
      * @throws Exception if any property is invalid.
      */
     public static void verify(Parameters parameters, Point[] points) {
+        verify(parameters, points.length, MAX_POINTS);
+    }
+
+    /**
+     * Verifies that all properties are conforming to the requirements specification (RS).
+     * @throws Exception if any property is invalid.
+     */
+    public static void verify(Parameters parameters, PointBuffer points) {
+        verify(parameters, points.size(), MAX_POINTS);
+    }
+
+    /**
+     * Verifies that all properties are conforming to the requirements specification (RS), except that there may be
+     * more than 100 points, such as for long tracks of sensor data. The LICs take O(N) time, except LIC 6, which takes
+     * O(N log^2 N) time for windows whose first and last points differ and O(H log N) time for each window whose first
+     * and last points coincide, where H is the number of vertices of the hulls, so up to N_PTS on convex tracks.
+     * @throws Exception if any property is invalid.
+     */
+    public static void verifyExtended(Parameters parameters, Point[] points) {
+        verify(parameters, points.length, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Verifies that all properties are conforming to the requirements specification (RS), except that there may be
+     * more than 100 points, such as for long tracks of sensor data. The LICs take O(N) time, except LIC 6, which takes
+     * O(N log^2 N) time for windows whose first and last points differ and O(H log N) time for each window whose first
+     * and last points coincide, where H is the number of vertices of the hulls, so up to N_PTS on convex tracks.
+     * @throws Exception if any property is invalid.
+     */
+    public static void verifyExtended(Parameters parameters, PointBuffer points) {
+        verify(parameters, points.size(), Integer.MAX_VALUE);
+    }
+
+    private static void verify(Parameters parameters, int numPoints, int maxPoints) {
 
-        // According to RS 2
-        if (points.length < 2 || points.length > 100) {
-            throw new IllegalArgumentException("NUMPOINTS must be in the range [2, 100].");
+        // According to RS 2, except that the extended mode has no upper bound
+        if (numPoints < 2 || numPoints > maxPoints) {
+            throw new IllegalArgumentException(maxPoints == MAX_POINTS
+                    ? "NUMPOINTS must be in the range [2, 100]." : "NUMPOINTS must be at least 2.");
         }
 
         // According to RS 2.1.0
@@ -56,7 +94,7 @@ public class Parameters {
         }
 
         // According to RS 2.1.4
-        if (parameters.Q_PTS < 2 || parameters.Q_PTS > points.length) {
+        if (parameters.Q_PTS < 2 || parameters.Q_PTS > numPoints) {
             throw new IllegalArgumentException("Q_PTS must be in the range [2, NUMPOINTS]");
         }
 
@@ -66,7 +104,7 @@ public class Parameters {
         }
 
         // According to RS 2.1.6
-        if (parameters.N_PTS < 3 || parameters.N_PTS > points.length) {
+        if (parameters.N_PTS < 3 || parameters.N_PTS > numPoints) {
             throw new IllegalArgumentException("N_PTS must be in the range [3, NUMPOINTS]");
         }
 
@@ -76,7 +114,7 @@ public class Parameters {
         }
 
         // According to RS 2.1.7
-        if (parameters.K_PTS < 1 || parameters.K_PTS > points.length - 2) {
+        if (parameters.K_PTS < 1 || parameters.K_PTS > numPoints - 2) {
             throw new IllegalArgumentException("K_PTS must be in the range [1, NUMPOINTS-2]");
         }
 
@@ -91,7 +129,7 @@ public class Parameters {
         }
 
         // According to RS 2.1.8
-        if (parameters.A_PTS + parameters.B_PTS > points.length - 3) {
+        if (parameters.A_PTS + parameters.B_PTS > numPoints - 3) {
             throw new IllegalArgumentException("A_PTS + B_PTS must not be greater than NUMPOINTS - 3");
         }
 
@@ -106,7 +144,7 @@ public class Parameters {
         }
 
         // According to RS 2.1.9
-        if (parameters.C_PTS + parameters.D_PTS > points.length - 3) {
+        if (parameters.C_PTS + parameters.D_PTS > numPoints - 3) {
             throw new IllegalArgumentException("C_PTS + D_PTS must not be greater than NUMPOINTS - 3");
         }
 
@@ -121,12 +159,12 @@ public class Parameters {
         }
 
         // According to RS 2.1.10
-        if (parameters.E_PTS + parameters.F_PTS > points.length - 3) {
+        if (parameters.E_PTS + parameters.F_PTS > numPoints - 3) {
             throw new IllegalArgumentException("E_PTS + F_PTS must not be greater than NUMPOINTS - 3");
         }
 
         // According to RS 2.1.11
-        if (parameters.G_PTS < 1 || parameters.G_PTS > points.length - 2) {
+        if (parameters.G_PTS < 1 || parameters.G_PTS > numPoints - 2) {
             throw new IllegalArgumentException("G_PTS must be in the range [1, NUMPOINTS - 2]");
         }
 
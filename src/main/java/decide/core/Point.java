@@ -25,6 +25,18 @@ public class Point {
     }
 
     public Quadrant getQuadrant() {
+        return quadrantOf(x, y);
+    }
+
+    /**
+     * Returns the quadrant of the point with the given coordinates. Where there is ambiguity as to which quadrant
+     * contains the point, priority of decision will be by quadrant number, i.e., I, II, III, IV.
+     *
+     * @param x the x-coordinate.
+     * @param y the y-coordinate.
+     * @return the quadrant.
+     */
+    public static Quadrant quadrantOf(double x, double y) {
         if (x >= 0 && y >= 0) {
             return Quadrant.I;
         } else if (x < 0 && y >= 0) {
@@ -46,7 +58,20 @@ public class Point {
      * @return the euclidean distance
      */
     public double distance(Point to) {
-        return Math.sqrt(Math.pow(x - to.x, 2) + Math.pow(y - to.y, 2));
+        return Math.sqrt(squaredDistance(to));
+    }
+
+    /**
+     * Calculates the squared euclidean distance from this point to another point. Comparing squared distances
+     * with {@link MathTools#lengthGreaterThan} and friends avoids the square root of {@link #distance}.
+     *
+     * @param to the point we should calculate the squared distance to.
+     * @return the squared euclidean distance
+     */
+    public double squaredDistance(Point to) {
+        double dx = x - to.x;
+        double dy = y - to.y;
+        return dx * dx + dy * dy;
     }
 
     /**
@@ -98,6 +123,25 @@ public class Point {
             throw new UndefinedAngleException("Point coincides with vertex.");
         }
 
+        return vertexAngleOrNaN(p1, vertex, p2);
+    }
+
+    /**
+     * Calculates the angle between the sides p1-vertex and p2-vertex like {@link #vertexAngle}, but returns NaN instead
+     * of throwing an exception when p1 or p2 coincides with the vertex and the angle is undefined. Every comparison
+     * with NaN is false, so an undefined angle never satisfies a condition such as angle < (PI - EPSILON), and no
+     * exception has to be created for inputs with many repeated points.
+     *
+     * @param p1     an endpoint to create a line (or side) between itself and the vertex.
+     * @param vertex the endpoint which the two lines will have in common.
+     * @param p2     an endpoint to create a line (or side) between itself and the vertex.
+     * @return the angle between the sides p1-vertex and p2-vertex, or NaN if the angle is undefined.
+     */
+    public static double vertexAngleOrNaN(Point p1, Point vertex, Point p2) {
+        if (p1.equals(vertex) || p2.equals(vertex)) {
+            return Double.NaN;
+        }
+
         double a = p1.distance(vertex);
         double b = p2.distance(vertex);
         double c = p1.distance(p2);
@@ -108,7 +152,7 @@ public class Point {
     }
 
     public static double euclidianDistanceBetween(Point startPoint, Point endPoint){
-        return Math.sqrt(Math.pow(startPoint.x - endPoint.x, 2) + Math.pow(startPoint.y - endPoint.y, 2));
+        return startPoint.distance(endPoint);
     }
 
     public static Point createPointBetween(Point a, Point b) {
@@ -0,0 +1,144 @@
+package decide.core;
+
+/**
+ * Stores a vector of 2D points as two parallel arrays of coordinates, so that the LICs can read the
+ * coordinates directly instead of following a reference to a {@code Point} for every access.
+ */
+public class PointBuffer {
+
+    // The x-coordinate and y-coordinate of the ith point are xs[i] and ys[i].
+    final double[] xs;
+    final double[] ys;
+
+    // The points as objects, only created when some geometry still needs them.
+    // Volatile because the LICs may read the points from several threads at once.
+    private volatile Point[] points;
+
+    // The ordinal of the quadrant of each point, only computed when a LIC needs them.
+    private volatile byte[] quadrants;
+
+    /**
+     * Creates a new point buffer that uses the given arrays as storage, without copying them.
+     * @param xs the x-coordinates.
+     * @param ys the y-coordinates.
+     * @throws IllegalArgumentException if the arrays have different lengths.
+     */
+    public PointBuffer(double[] xs, double[] ys) {
+        if (xs.length != ys.length) {
+            throw new IllegalArgumentException("xs and ys must have the same length.");
+        }
+        this.xs = xs;
+        this.ys = ys;
+    }
+
+    /**
+     * Creates a new point buffer with the same points as a vector of points.
+     * @param points a vector of 2D points.
+     * @return a point buffer.
+     */
+    public static PointBuffer of(Point[] points) {
+        double[] xs = new double[points.length];
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            xs[i] = points[i].x;
+            ys[i] = points[i].y;
+        }
+        PointBuffer buffer = new PointBuffer(xs, ys);
+        buffer.points = points;
+        return buffer;
+    }
+
+    /**
+     * Returns the number of points.
+     * @return the number of points.
+     */
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the x-coordinate of the ith point.
+     * @return the x-coordinate.
+     */
+    public double x(int i) {
+        return xs[i];
+    }
+
+    /**
+     * Returns the y-coordinate of the ith point.
+     * @return the y-coordinate.
+     */
+    public double y(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Returns the ith point. The points are created the first time this method is called,
+     * unless the buffer was created from a vector of points.
+     * @return the ith point.
+     */
+    public Point get(int i) {
+        Point[] points = this.points;
+        if (points == null) {
+            points = toPoints();
+            this.points = points;
+        }
+        return points[i];
+    }
+
+    /**
+     * Creates a vector with all the points in this buffer.
+     * @return a vector of 2D points.
+     */
+    public Point[] toPoints() {
+        Point[] points = new Point[xs.length];
+        for (int i = 0; i < points.length; i++) {
+            points[i] = new Point(xs[i], ys[i]);
+        }
+        return points;
+    }
+
+    /**
+     * Checks if the ith point and the jth point are the same point, with the same semantics as {@link Point#equals}.
+     * @return true if the points coincide.
+     */
+    boolean coincide(int i, int j) {
+        return Double.compare(xs[i], xs[j]) == 0 && Double.compare(ys[i], ys[j]) == 0;
+    }
+
+    /**
+     * Calculates the squared euclidean distance between the ith point and the jth point, exactly like
+     * {@link Point#squaredDistance}.
+     * @return the squared euclidean distance.
+     */
+    double squaredDistance(int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Returns the ordinals of the quadrants of all points, where the ith element is the ordinal of the quadrant of the
+     * ith point. The quadrants are computed the first time this method is called. The array must not be modified.
+     * @return the quadrant ordinals.
+     */
+    byte[] quadrants() {
+        byte[] quadrants = this.quadrants;
+        if (quadrants == null) {
+            quadrants = new byte[xs.length];
+            for (int i = 0; i < quadrants.length; i++) {
+                quadrants[i] = (byte) quadrant(i).ordinal();
+            }
+            this.quadrants = quadrants;
+        }
+        return quadrants;
+    }
+
+    /**
+     * Returns the quadrant of the ith point.
+     * @return the quadrant.
+     */
+    Point.Quadrant quadrant(int i) {
+        return Point.quadrantOf(xs[i], ys[i]);
+    }
+}
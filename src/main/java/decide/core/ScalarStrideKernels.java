@@ -0,0 +1,32 @@
+package decide.core;
+
+/**
+ * The stride kernels as plain loops over one window at a time. This is the reference implementation and the fallback
+ * when no other implementation is available.
+ */
+public class ScalarStrideKernels implements StrideKernels {
+
+    @Override
+    public boolean anyDistanceGreaterThan(double[] xs, double[] ys, int stride, double length) {
+        for (int i = 0; i < xs.length - stride; i++) {
+            if (MathTools.lengthGreaterThan(squaredDistance(xs, ys, i, i + stride), length))
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean anyDecrease(double[] xs, int stride) {
+        for (int i = 0; i < xs.length - stride; i++) {
+            if (xs[i + stride] - xs[i] < 0)
+                return true;
+        }
+        return false;
+    }
+
+    private static double squaredDistance(double[] xs, double[] ys, int i, int j) {
+        double dx = xs[i] - xs[j];
+        double dy = ys[i] - ys[j];
+        return dx * dx + dy * dy;
+    }
+}
@@ -0,0 +1,55 @@
+package decide.core;
+
+/**
+ * Computes the minimum or maximum of every window of consecutive values in a single pass. The indices of the values
+ * that can still become the extreme of a later window are kept in a monotonic deque, so every index is added and
+ * removed at most once and all the windows take O(N) time in total.
+ * <p>
+ * The values must not be NaN, since NaN breaks the ordering that the deque relies on.
+ */
+class SlidingExtremes {
+
+    /**
+     * Computes the maximum of every window of the given size.
+     * @param values the values, none of which is NaN.
+     * @param window the number of values in each window, 1 ≤ window ≤ values.length.
+     * @return a vector where the kth element is the maximum of values[k] to values[k + window - 1].
+     */
+    static double[] maxima(double[] values, int window) {
+        return extremes(values, window, true);
+    }
+
+    /**
+     * Computes the minimum of every window of the given size.
+     * @param values the values, none of which is NaN.
+     * @param window the number of values in each window, 1 ≤ window ≤ values.length.
+     * @return a vector where the kth element is the minimum of values[k] to values[k + window - 1].
+     */
+    static double[] minima(double[] values, int window) {
+        return extremes(values, window, false);
+    }
+
+    private static double[] extremes(double[] values, int window, boolean maxima) {
+        double[] extremes = new double[values.length - window + 1];
+
+        // deque[head] to deque[tail - 1] are the candidates in the current window, the extreme at the head.
+        int[] deque = new int[values.length];
+        int head = 0;
+        int tail = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            // A value is never the extreme again once a later value is at least as extreme.
+            while (tail > head && (maxima ? values[deque[tail - 1]] <= values[i] : values[deque[tail - 1]] >= values[i]))
+                tail--;
+            deque[tail++] = i;
+
+            // The head leaves the window.
+            if (deque[head] <= i - window)
+                head++;
+
+            if (i >= window - 1)
+                extremes[i - window + 1] = values[deque[head]];
+        }
+        return extremes;
+    }
+}
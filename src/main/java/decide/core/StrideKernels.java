@@ -0,0 +1,35 @@
+package decide.core;
+
+/**
+ * The loops of the LICs that compare points at fixed index offsets, the strides, such as the points i and
+ * i + G_PTS + 1. LICs 0, 5 and 11 use them, since the other LICs with strides share their distances and areas through
+ * the geometry cache. Every window is independent of the others, so an implementation can evaluate many windows at
+ * once.
+ * Every method returns true if at least one window satisfies the condition, and must give exactly the same answer as
+ * {@link ScalarStrideKernels}.
+ * <p>
+ * The coordinates are passed as two parallel arrays, where the ith point is (xs[i], ys[i]).
+ *
+ * @see Kernels#stride()
+ */
+public interface StrideKernels {
+
+    /**
+     * Checks if the distance between the points i and i + stride is greater than the length for some i, with the
+     * semantics of {@link MathTools#lengthGreaterThan}.
+     * @param xs the x-coordinates.
+     * @param ys the y-coordinates.
+     * @param stride the offset of the second point.
+     * @param length the length.
+     * @return true if some distance is greater than the length.
+     */
+    boolean anyDistanceGreaterThan(double[] xs, double[] ys, int stride, double length);
+
+    /**
+     * Checks if xs[i + stride] - xs[i] < 0 for some i.
+     * @param xs the x-coordinates.
+     * @param stride the offset of the second point.
+     * @return true if some difference is negative.
+     */
+    boolean anyDecrease(double[] xs, int stride);
+}
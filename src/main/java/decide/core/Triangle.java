@@ -13,18 +13,7 @@ public class Triangle {
      * @return the area.
      */
     public static double area(Point p1, Point p2, Point p3) {
-        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3))
-            return 0;
-
-        // We will use Heron's formula to calculate the area of the triangle.
-        // This formula only requires the side lengths of the triangle which we can easily retrieve:
-        double a = p1.distance(p2);
-        double b = p1.distance(p3);
-        double c = p2.distance(p3);
-
-        // Heron's Formula to get the area:
-        double area = 0.25 * Math.sqrt((a + b + c) * (-a + b + c) * (a - b + c) * (a + b - c));
-
-        return area;
+        // The shoelace formula only needs a cross product, see Geometry.triangleArea.
+        return Geometry.triangleArea(p1.x, p1.y, p2.x, p2.y, p3.x, p3.y);
     }
 }
@@ -0,0 +1,106 @@
+package decide.core;
+
+import java.util.function.DoublePredicate;
+
+/**
+ * One value for every window of a vector of points, such as the distance between the points i and i + K_PTS + 1 for
+ * the window that starts at point i, and the scans that the LICs run over them.
+ * <p>
+ * The values are computed in chunks, and only as far as some scan has read them. A scan that finds its witness in
+ * the first windows therefore only computes the first chunk, and a later scan over the same windows reuses the values
+ * that are already computed. The LICs of a CMV may scan the same windows from several threads, so the chunks are
+ * computed under a lock and published through a volatile count.
+ */
+abstract class Windows {
+
+    // How many values are computed at a time. Small enough that an early witness costs little, large enough that
+    // the lock is rarely taken.
+    private static final int CHUNK = 64;
+
+    private final double[] values;
+
+    // The values before this index are computed.
+    private volatile int computed;
+
+    /**
+     * Creates the windows, without computing any values.
+     * @param count the number of windows, which is 0 if there are fewer points than one window needs.
+     */
+    Windows(int count) {
+        values = new double[Math.max(0, count)];
+    }
+
+    /**
+     * Computes the values of the windows from the index from up to, but not including, the index to.
+     */
+    abstract void compute(double[] values, int from, int to);
+
+    /**
+     * Returns the number of windows.
+     * @return the number of windows.
+     */
+    int count() {
+        return values.length;
+    }
+
+    /**
+     * Returns the value of the ith window, computing it and the rest of its chunk if that has not been done yet.
+     * @return the value of the ith window.
+     */
+    double get(int i) {
+        if (i >= computed)
+            computeUpTo(i + 1);
+        return values[i];
+    }
+
+    /**
+     * Checks if the value of any window satisfies the predicate, stopping at the first window that does.
+     * @return true if some window satisfies the predicate.
+     */
+    boolean any(DoublePredicate predicate) {
+        for (int i = 0; i < values.length; i++) {
+            if (predicate.test(get(i)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the value of some window satisfies the first predicate and the value of some window, the same or
+     * another one, satisfies the second predicate. Each value is only read once for both predicates, a predicate is
+     * no longer tested once some window has satisfied it, and the scan stops as soon as both have been satisfied.
+     * @return true if both predicates are satisfied by some window.
+     */
+    boolean both(DoublePredicate first, DoublePredicate second) {
+        for (int i = 0; i < values.length; i++) {
+            double value = get(i);
+            boolean firstFound = first.test(value);
+            boolean secondFound = second.test(value);
+            if (firstFound && secondFound)
+                return true;
+            // Only the other predicate is left, so the rest is a scan for one witness.
+            if (firstFound)
+                return anyFrom(i + 1, second);
+            if (secondFound)
+                return anyFrom(i + 1, first);
+        }
+        return false;
+    }
+
+    private boolean anyFrom(int start, DoublePredicate predicate) {
+        for (int i = start; i < values.length; i++) {
+            if (predicate.test(get(i)))
+                return true;
+        }
+        return false;
+    }
+
+    private synchronized void computeUpTo(int end) {
+        int from = computed;
+        if (from >= end)
+            return;
+        int to = Math.min(values.length, Math.max(end, from + CHUNK));
+        compute(values, from, to);
+        computed = to;
+    }
+}
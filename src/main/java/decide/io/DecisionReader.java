@@ -0,0 +1,444 @@
+package decide.io;
+
+import decide.core.LCM;
+import decide.core.PUM;
+import decide.core.Parameters;
+import decide.core.PointBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a stream of decision cases in a text format, each with its parameters, LCM, PUV and points.
+ * <p>
+ * The input is a sequence of tokens separated by white space, where {@code #} starts a comment that runs to the end
+ * of the line. A case consists of sections in any order, and ends with its points:
+ * <ul>
+ *     <li>a parameter, such as {@code LENGTH1 1.5} or {@code N_PTS 3}, for any of the 19 fields of {@link Parameters},</li>
+ *     <li>{@code LCM} followed by the 15 rows of the LCM, each as 15 times {@code ANDD}, {@code ORR} or
+ *     {@code NOTUSED},</li>
+ *     <li>{@code PUV} followed by 15 times {@code true} or {@code false},</li>
+ *     <li>{@code POINTS} followed by the number of points and the x- and y-coordinate of each point.</li>
+ * </ul>
+ * The sections that a case leaves out keep their values from the previous case, so a stream of cases with the same
+ * LCM and PUV only needs to give them once. Before the first case, the parameters are 0, every LCM entry is NOTUSED and
+ * the PUV is all false.
+ * <p>
+ * The reader is made for long streams of cases: it tokenizes its own buffer and parses the numbers in place, so
+ * apart from the coordinate arrays of each case it does not allocate. The parameters, LCM and PUV are updated in
+ * place by {@link #next()}, and the points of each case are a new point buffer.
+ */
+public class DecisionReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    // The number of points that the coordinate arrays of a case have room for before they grow.
+    private static final int INITIAL_POINTS = 1024;
+
+    // The names of the fields of Parameters, in the order of setParameter.
+    private static final byte[][] FIELDS = ascii("LENGTH1", "RADIUS1", "EPSILON", "AREA1", "Q_PTS", "QUADS", "DIST",
+            "N_PTS", "K_PTS", "A_PTS", "B_PTS", "C_PTS", "D_PTS", "E_PTS", "F_PTS", "G_PTS", "LENGTH2", "RADIUS2",
+            "AREA2");
+
+    private static final byte[] LCM_SECTION = ascii("LCM")[0];
+    private static final byte[] PUV_SECTION = ascii("PUV")[0];
+    private static final byte[] POINTS_SECTION = ascii("POINTS")[0];
+    private static final byte[] TRUE = ascii("true")[0];
+    private static final byte[] FALSE = ascii("false")[0];
+    private static final byte[][] LCM_VALUES = ascii("ANDD", "ORR", "NOTUSED");
+
+    // The powers of ten that are exact doubles.
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++)
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean endOfStream;
+
+    // The current token is buffer[tokenStart] up to, but not including, buffer[tokenEnd], and starts on this line.
+    private int tokenStart;
+    private int tokenEnd;
+    private int line = 1;
+
+    private final Parameters parameters = new Parameters();
+    private final LCM lcm = new LCM();
+    private final boolean[] puv = new boolean[PUM.PUM_SIZE];
+    private PointBuffer points;
+    private boolean decisionChanged;
+
+    /**
+     * Creates a reader of decision cases. The stream is read in large blocks, so it does not need to be buffered.
+     * @param in the stream to read the cases from.
+     */
+    public DecisionReader(InputStream in) {
+        this.in = in;
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                lcm.set(i, j, LCM.Value.NOTUSED);
+        }
+    }
+
+    /**
+     * Reads the next case.
+     * @return true if a case was read, or false if the stream has no more cases.
+     * @throws IOException if the stream cannot be read, or the case is malformed or incomplete.
+     */
+    public boolean next() throws IOException {
+        // Only the first case has no points from a previous case.
+        decisionChanged = points == null;
+        if (!nextToken())
+            return false;
+        while (true) {
+            if (matches(POINTS_SECTION)) {
+                readPoints();
+                return true;
+            } else if (matches(LCM_SECTION)) {
+                readLcm();
+            } else if (matches(PUV_SECTION)) {
+                readPuv();
+            } else {
+                readParameter();
+            }
+            if (!nextToken())
+                throw error("the case has no POINTS");
+        }
+    }
+
+    /**
+     * Returns the parameters of the current case, which are updated by the next call to {@link #next()}.
+     * @return the parameters.
+     */
+    public Parameters parameters() {
+        return parameters;
+    }
+
+    /**
+     * Returns the LCM of the current case, which is updated by the next call to {@link #next()}.
+     * @return the LCM.
+     */
+    public LCM lcm() {
+        return lcm;
+    }
+
+    /**
+     * Returns the PUV of the current case, which is updated by the next call to {@link #next()}.
+     * @return a boolean vector of length 15.
+     */
+    public boolean[] puv() {
+        return puv;
+    }
+
+    /**
+     * Returns the points of the current case.
+     * @return the points, stored as parallel arrays of coordinates.
+     */
+    public PointBuffer points() {
+        return points;
+    }
+
+    /**
+     * Checks if the current case gave an LCM or a PUV, so that a decision engine for the previous case can no longer
+     * be used. This is always true for the first case.
+     * @return true if the LCM or the PUV may have changed since the previous case.
+     */
+    public boolean decisionChanged() {
+        return decisionChanged;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readParameter() throws IOException {
+        int field = -1;
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (matches(FIELDS[i]))
+                field = i;
+        }
+        if (field < 0)
+            throw error("unknown section " + token());
+
+        Parameters p = parameters;
+        switch (field) {
+            case 0: p.LENGTH1 = nextDouble(); break;
+            case 1: p.RADIUS1 = nextDouble(); break;
+            case 2: p.EPSILON = nextDouble(); break;
+            case 3: p.AREA1 = nextDouble(); break;
+            case 4: p.Q_PTS = nextInt(); break;
+            case 5: p.QUADS = nextInt(); break;
+            case 6: p.DIST = nextDouble(); break;
+            case 7: p.N_PTS = nextInt(); break;
+            case 8: p.K_PTS = nextInt(); break;
+            case 9: p.A_PTS = nextInt(); break;
+            case 10: p.B_PTS = nextInt(); break;
+            case 11: p.C_PTS = nextInt(); break;
+            case 12: p.D_PTS = nextInt(); break;
+            case 13: p.E_PTS = nextInt(); break;
+            case 14: p.F_PTS = nextInt(); break;
+            case 15: p.G_PTS = nextInt(); break;
+            case 16: p.LENGTH2 = nextDouble(); break;
+            case 17: p.RADIUS2 = nextDouble(); break;
+            default: p.AREA2 = nextDouble(); break;
+        }
+    }
+
+    private void readLcm() throws IOException {
+        decisionChanged = true;
+        LCM.Value[] values = LCM.Value.values();
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++) {
+                expectToken("an LCM value");
+                int value = -1;
+                for (int v = 0; v < LCM_VALUES.length; v++) {
+                    if (matches(LCM_VALUES[v]))
+                        value = v;
+                }
+                if (value < 0)
+                    throw error("expected ANDD, ORR or NOTUSED but found " + token());
+                lcm.set(i, j, values[value]);
+            }
+        }
+    }
+
+    private void readPuv() throws IOException {
+        decisionChanged = true;
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            expectToken("a PUV value");
+            if (matches(TRUE))
+                puv[i] = true;
+            else if (matches(FALSE))
+                puv[i] = false;
+            else
+                throw error("expected true or false but found " + token());
+        }
+    }
+
+    private void readPoints() throws IOException {
+        int count = nextInt();
+        if (count < 0)
+            throw error("the number of points must not be negative");
+        // The arrays grow with the points that are actually read, so that a large count without the points behind it
+        // fails on the missing points instead of allocating the arrays for all of them.
+        double[] xs = new double[Math.min(count, INITIAL_POINTS)];
+        double[] ys = new double[xs.length];
+        for (int i = 0; i < count; i++) {
+            if (i == xs.length) {
+                xs = Arrays.copyOf(xs, (int) Math.min(count, 2L * xs.length));
+                ys = Arrays.copyOf(ys, xs.length);
+            }
+            xs[i] = nextDouble();
+            ys[i] = nextDouble();
+        }
+        points = new PointBuffer(xs, ys);
+    }
+
+    private int nextInt() throws IOException {
+        expectToken("an integer");
+        int i = tokenStart;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+')
+            i++;
+        if (i == tokenEnd)
+            throw error("expected an integer but found " + token());
+        long value = 0;
+        for (; i < tokenEnd; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9)
+                throw error("expected an integer but found " + token());
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1)
+                throw error("the integer " + token() + " is out of range");
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE)
+            throw error("the integer " + token() + " is out of range");
+        return (int) value;
+    }
+
+    // Parses decimal numbers with at most 18 significant digits and a small exponent in place. The product or quotient
+    // of two exact doubles is correctly rounded, so the result is the same as Double.parseDouble, which parses all
+    // other numbers.
+    private double nextDouble() throws IOException {
+        expectToken("a number");
+        int i = tokenStart;
+        boolean negative = buffer[i] == '-';
+        if (negative || buffer[i] == '+')
+            i++;
+
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean point = false;
+        for (; i < tokenEnd; i++) {
+            byte c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa == 0 && c == '0') {
+                    // leading zeros are not significant
+                } else if (significant++ < 18) {
+                    mantissa = mantissa * 10 + (c - '0');
+                } else {
+                    return parseSlowly();
+                }
+                if (point)
+                    exponent--;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0)
+            return parseSlowly();
+
+        if (i < tokenEnd) {
+            if (buffer[i] != 'e' && buffer[i] != 'E')
+                return parseSlowly();
+            i++;
+            boolean negativeExponent = i < tokenEnd && buffer[i] == '-';
+            if (i < tokenEnd && (negativeExponent || buffer[i] == '+'))
+                i++;
+            if (i == tokenEnd)
+                return parseSlowly();
+            int e = 0;
+            for (; i < tokenEnd; i++) {
+                int digit = buffer[i] - '0';
+                if (digit < 0 || digit > 9 || e > 1000)
+                    return parseSlowly();
+                e = e * 10 + digit;
+            }
+            exponent += negativeExponent ? -e : e;
+        }
+
+        double value;
+        if (mantissa == 0)
+            value = 0;
+        else if (exponent >= 0 && exponent < POWERS_OF_TEN.length && mantissa < 1L << 53)
+            value = mantissa * POWERS_OF_TEN[exponent];
+        else if (exponent < 0 && -exponent < POWERS_OF_TEN.length && mantissa < 1L << 53)
+            value = mantissa / POWERS_OF_TEN[-exponent];
+        else
+            return parseSlowly();
+        return negative ? -value : value;
+    }
+
+    // Parses the current token with Double.parseDouble, for the numbers that are not parsed in place.
+    private double parseSlowly() throws IOException {
+        String token = token();
+        // Double.parseDouble also accepts a trailing d or f, and leading or trailing white space, which are not numbers.
+        char last = token.charAt(token.length() - 1);
+        if (last == 'd' || last == 'D' || last == 'f' || last == 'F')
+            throw error("expected a number but found " + token);
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw error("expected a number but found " + token);
+        }
+    }
+
+    private void expectToken(String expected) throws IOException {
+        if (!nextToken())
+            throw error("expected " + expected + " but the input ended");
+    }
+
+    // Finds the next token, skipping white space and comments, and returns false at the end of the stream.
+    private boolean nextToken() throws IOException {
+        while (true) {
+            if (position == limit && !fill())
+                return false;
+            byte c = buffer[position];
+            if (c == '#') {
+                while (buffer[position] != '\n') {
+                    position++;
+                    if (position == limit && !fill())
+                        return false;
+                }
+            } else if (c == '\n') {
+                line++;
+                position++;
+            } else if (c == ' ' || c == '\t' || c == '\r') {
+                position++;
+            } else {
+                break;
+            }
+        }
+
+        int end = position;
+        while (true) {
+            if (end == limit) {
+                // The token continues after the buffer, so it is moved to the start of the buffer before refilling.
+                int length = end - position;
+                if (length == buffer.length)
+                    throw error("a token is longer than " + buffer.length + " bytes");
+                System.arraycopy(buffer, position, buffer, 0, length);
+                limit = length;
+                position = 0;
+                end = length;
+                if (!fill())
+                    break;
+            }
+            byte c = buffer[end];
+            if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '#')
+                break;
+            end++;
+        }
+        tokenStart = position;
+        tokenEnd = end;
+        position = end;
+        return true;
+    }
+
+    // Reads more bytes after the limit, or returns false at the end of the stream.
+    private boolean fill() throws IOException {
+        if (endOfStream)
+            return false;
+        if (position == limit) {
+            position = 0;
+            limit = 0;
+        }
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfStream = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    private boolean matches(byte[] word) {
+        if (tokenEnd - tokenStart != word.length)
+            return false;
+        for (int i = 0; i < word.length; i++) {
+            if (buffer[tokenStart + i] != word[i])
+                return false;
+        }
+        return true;
+    }
+
+    private String token() {
+        return new String(buffer, tokenStart, tokenEnd - tokenStart, StandardCharsets.UTF_8);
+    }
+
+    private IOException error(String message) {
+        return new IOException("Line " + line + ": " + message + ".");
+    }
+
+    private static byte[][] ascii(String... words) {
+        byte[][] bytes = new byte[words.length][];
+        for (int i = 0; i < words.length; i++)
+            bytes[i] = words[i].getBytes(StandardCharsets.US_ASCII);
+        return bytes;
+    }
+}
@@ -0,0 +1,123 @@
+package decide.io;
+
+import decide.core.PointBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes vectors of 2D points in a compact binary format, such as recorded sweeps that are replayed.
+ * <p>
+ * A point file starts with a header of {@value #HEADER_SIZE} bytes: the magic number {@code DPTS} in ASCII, the
+ * version {@value #VERSION} as a 32-bit integer and the number of points as a 64-bit integer. The header is followed
+ * by the points, each as its x-coordinate and its y-coordinate. All numbers are little-endian.
+ * <p>
+ * The file is memory-mapped and the coordinates are read through a {@link DoubleBuffer} view of the mapping, straight
+ * into the coordinate arrays of a {@link PointBuffer}, so no {@code Point} is created. Files larger than 2 GB are
+ * mapped in several parts, since a single mapping is limited to 2 GB.
+ */
+public class PointFile {
+
+    // "DPTS" in ASCII, read as a little-endian integer.
+    private static final int MAGIC = 'D' | 'P' << 8 | 'T' << 16 | 'S' << 24;
+
+    // The version of the format that is written and the only version that is read.
+    public static final int VERSION = 1;
+
+    // The size of the header in bytes.
+    public static final int HEADER_SIZE = 16;
+
+    // Each point is two doubles.
+    private static final int POINT_SIZE = 2 * Double.BYTES;
+
+    // The number of points that are mapped or written at a time, 1 GB for reading.
+    private static final int MAP_POINTS = 1 << 26;
+    private static final int WRITE_POINTS = 1 << 16;
+
+    private PointFile() {
+    }
+
+    /**
+     * Reads all points of a point file.
+     * @param path the path of the point file.
+     * @return the points, stored as parallel arrays of coordinates.
+     * @throws IOException if the file cannot be read, is not a point file or is shorter than its header says.
+     */
+    public static PointBuffer read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int count = readHeader(channel, path);
+            double[] xs = new double[count];
+            double[] ys = new double[count];
+            for (int from = 0; from < count; from += MAP_POINTS) {
+                int size = Math.min(MAP_POINTS, count - from);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_SIZE + (long) from * POINT_SIZE, (long) size * POINT_SIZE);
+                DoubleBuffer coordinates = mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+                for (int i = 0; i < size; i++) {
+                    xs[from + i] = coordinates.get(2 * i);
+                    ys[from + i] = coordinates.get(2 * i + 1);
+                }
+            }
+            return new PointBuffer(xs, ys);
+        }
+    }
+
+    /**
+     * Writes the points to a point file, replacing the file if it exists.
+     * @param path the path of the point file.
+     * @param points the points to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Path path, PointBuffer points) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(points.size()).flip();
+            writeFully(channel, header);
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_POINTS * POINT_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int from = 0; from < points.size(); from += WRITE_POINTS) {
+                buffer.clear();
+                for (int i = from; i < Math.min(points.size(), from + WRITE_POINTS); i++)
+                    buffer.putDouble(points.x(i)).putDouble(points.y(i));
+                buffer.flip();
+                writeFully(channel, buffer);
+            }
+        }
+    }
+
+    // Reads and checks the header, and returns the number of points.
+    private static int readHeader(FileChannel channel, Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header) < 0)
+                throw new IOException(path + " is too short to be a point file.");
+        }
+        header.flip();
+
+        if (header.getInt() != MAGIC)
+            throw new IOException(path + " is not a point file.");
+        int version = header.getInt();
+        if (version != VERSION)
+            throw new IOException(path + " has version " + version + ", but only version " + VERSION + " is supported.");
+        long count = header.getLong();
+        if (count < 0)
+            throw new IOException(path + " has a negative number of points.");
+        if (count > Integer.MAX_VALUE - 8)
+            throw new IOException(path + " has " + count + " points, which is more than a point buffer can hold.");
+        if (channel.size() < HEADER_SIZE + count * POINT_SIZE)
+            throw new IOException(path + " is shorter than its " + count + " points.");
+        return (int) count;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+}
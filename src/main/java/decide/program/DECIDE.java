@@ -1,7 +1,21 @@
 package decide.program;
 
 import decide.core.*;
+import decide.io.DecisionReader;
+import decide.io.PointFile;
+import decide.server.DecisionExecutor;
+import decide.server.DecisionServer;
 
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.file.Path;
 import java.util.Arrays;
 
 /**
@@ -9,8 +23,11 @@ import java.util.Arrays;
  * Here the final decision regarding the launch of the interceptor is made.
  */
 public class DECIDE {
+    // The number of requests per processor that the server accepts at once before it stops reading.
+    private static final int SERVE_CAPACITY = 64;
+
     private Parameters parameters;
-    private Point[] points;
+    private PointBuffer points;
     private LCM lcm;
     private boolean[] puv;
 
@@ -41,10 +58,11 @@ public class DECIDE {
         parameters.RADIUS2 = 1.0;
         parameters.AREA2 = 1.0;
 
-        points = new Point[100];
+        Point[] points = new Point[100];
         Arrays.fill(points, new Point(0.0, 0.0));
 
         Parameters.verify(parameters, points);
+        this.points = PointBuffer.of(points);
 
         lcm = new LCM();
         for (int i = 0; i < LCM.LCM_SIZE; i++) {
@@ -56,24 +74,108 @@ public class DECIDE {
         puv = new boolean[PUM.PUM_SIZE];
     }
 
+    /**
+     * Replace the emulated points with the points of a point file, which may have more than 100 points.
+     * @throws IOException if the point file cannot be read.
+     */
+    void load(Path pointFile) throws IOException {
+        points = PointFile.read(pointFile);
+        Parameters.verifyExtended(parameters, points);
+    }
+
     /**
      * Calculate whether to launch the interceptor or not.
      */
     void evaluate() {
-        CMV cmv = new CMV(parameters, points);
-        PUM pum = new PUM(lcm, cmv);
-        FUV fuv = new FUV(puv, pum);
+        // Only the LICs that are needed to reach the decision are computed.
+        DecisionEngine engine = new DecisionEngine(lcm, puv);
 
-        if (fuv.canLaunch()) {
+        if (engine.decide(parameters, points)) {
             System.out.println("YES");
         } else {
             System.out.println("NO");
         }
     }
 
-    public static void main(String[] args) {
+    /**
+     * Decide every case of a stream of decision cases, and print YES or NO for each case on its own line. The first
+     * case that cannot be read or is invalid is reported on the standard error, and ends the stream, but the
+     * decisions of the cases before it are still printed.
+     * @return true if every case was decided.
+     */
+    static boolean evaluateAll(InputStream in, PrintStream out) {
+        int decided = 0;
+        try (DecisionReader reader = new DecisionReader(in)) {
+            DecisionEngine engine = null;
+            while (reader.next()) {
+                Parameters.verifyExtended(reader.parameters(), reader.points());
+                // The engine learns the costs of the LICs, so it is kept as long as the LCM and PUV stay the same.
+                if (reader.decisionChanged())
+                    engine = new DecisionEngine(reader.lcm(), reader.puv());
+                out.println(engine.decide(reader.parameters(), reader.points()) ? "YES" : "NO");
+                decided++;
+            }
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Case " + (decided + 1) + ": " + e.getMessage());
+            return false;
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Serve decision requests on a local address until the process is stopped, see decide.server.DecisionServer.
+     * @param address a port on the loopback interface, or unix: and the path of a Unix-domain socket.
+     * @throws IOException if the address cannot be bound.
+     */
+    static void serve(String address) throws IOException {
+        SocketAddress socket = address.startsWith("unix:")
+                ? UnixDomainSocketAddress.of(address.substring("unix:".length()))
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        // Decisions are bound by the CPU, so as many run at once as there are processors.
+        int processors = Runtime.getRuntime().availableProcessors();
+        DecisionExecutor executor = new DecisionExecutor(processors, SERVE_CAPACITY * processors);
+        DecisionServer server = new DecisionServer(socket, executor);
+        // The server runs until the process is stopped, so it is closed on the way out, which also removes the file
+        // of a Unix-domain socket, and the latencies are reported.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Closing the server failed: " + e.getMessage());
+            }
+            executor.close();
+            System.err.println("Latencies: " + executor.latencies() + "\nWaits: " + executor.waits());
+        }));
+        System.out.println("Serving on " + server.address() + (executor.virtual() ? " with virtual threads" : ""));
+        server.run();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // --serve <port> or --serve unix:<path> decides requests from local clients, see decide.server.DecisionServer.
+        if (args.length == 2 && args[0].equals("--serve")) {
+            serve(args[1]);
+            return;
+        }
+        // --input <file> decides every case of a file of decision cases, or of the standard input for -,
+        // see decide.io.DecisionReader.
+        if (args.length == 2 && args[0].equals("--input")) {
+            InputStream in = args[1].equals("-") ? System.in : new FileInputStream(args[1]);
+            if (!evaluateAll(in, new PrintStream(new BufferedOutputStream(System.out, 1 << 16), false)))
+                System.exit(1);
+            return;
+        }
+
         DECIDE decide = new DECIDE();
         decide.init();
+        // --points <file> reads the points from a point file, see decide.io.PointFile.
+        if (args.length == 2 && args[0].equals("--points")) {
+            decide.load(Path.of(args[1]));
+        } else if (args.length > 0) {
+            throw new IllegalArgumentException(
+                    "Usage: DECIDE [--points <file> | --input <file> | --serve <port> | --serve unix:<path>]");
+        }
         decide.evaluate();
     }
 }
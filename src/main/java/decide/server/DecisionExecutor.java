@@ -0,0 +1,186 @@
+package decide.server;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An executor for decisions that runs every task on its own virtual thread, with a bound on how many tasks run at once
+ * and on how many are accepted at once, and that records how long every task takes.
+ * <p>
+ * A task that is accepted gets a thread right away, and waits on that thread until one of the {@code concurrency}
+ * slots is free, so that waiting for a slot costs no platform thread. At most {@code capacity} tasks are running or
+ * waiting, so that clients that send requests faster than they are decided cannot queue up unbounded work. When the
+ * executor is full, {@link #execute(Runnable)} blocks its caller, and {@link #tryExecute(Runnable)} refuses the task
+ * instead, for callers that must not block, such as the selector thread of {@link DecisionServer}. Those can ask with
+ * {@link #whenAccepting(Runnable)} to be told when there is room again.
+ * <p>
+ * Virtual threads need Java 21. On an older runtime the tasks run on a pool of {@code concurrency} platform threads
+ * instead, with the same bounds.
+ * <p>
+ * The latency of a task is measured from the moment it was accepted until the task has finished, so it includes the
+ * time that the task waited, which is also recorded on its own.
+ */
+public class DecisionExecutor implements Executor, AutoCloseable {
+
+    private final ExecutorService threads;
+    private final boolean virtual;
+
+    // Permits to run, and permits to be accepted, which a task holds until it has finished.
+    private final Semaphore running;
+    private final Semaphore accepted;
+
+    // Called once each when the executor can accept a task again.
+    private final ConcurrentLinkedQueue<Runnable> listeners = new ConcurrentLinkedQueue<>();
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LatencyHistogram waits = new LatencyHistogram();
+
+    /**
+     * Creates an executor.
+     * @param concurrency the number of tasks that run at once.
+     * @param capacity the number of tasks that are running or waiting at once, at least the concurrency.
+     * @throws IllegalArgumentException if the concurrency is not positive or the capacity is less than it.
+     */
+    public DecisionExecutor(int concurrency, int capacity) {
+        if (concurrency < 1)
+            throw new IllegalArgumentException("The concurrency must be at least 1.");
+        if (capacity < concurrency)
+            throw new IllegalArgumentException("The capacity must be at least the concurrency.");
+        running = new Semaphore(concurrency);
+        accepted = new Semaphore(capacity);
+
+        ExecutorService threads = virtualThreads();
+        virtual = threads != null;
+        this.threads = virtual ? threads : Executors.newFixedThreadPool(concurrency, task -> {
+            Thread thread = new Thread(task, "decide-executor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // A virtual thread per task executor if the runtime has them. The executor is looked up by reflection so that
+    // the code still compiles and runs on Java 17.
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether the tasks run on virtual threads, or on platform threads because the runtime has none.
+     * @return true for virtual threads.
+     */
+    public boolean virtual() {
+        return virtual;
+    }
+
+    /**
+     * Runs a task, and blocks until the executor can accept it.
+     * @param task the task.
+     * @throws RejectedExecutionException if the executor is closed, or the caller is interrupted while it blocks.
+     */
+    @Override
+    public void execute(Runnable task) {
+        try {
+            accepted.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting to be accepted.", e);
+        }
+        start(task);
+    }
+
+    /**
+     * Runs a task if the executor can accept it right away, without blocking.
+     * @param task the task.
+     * @return true if the task was accepted, or false if the executor is full.
+     * @throws RejectedExecutionException if the executor is closed.
+     */
+    public boolean tryExecute(Runnable task) {
+        if (!accepted.tryAcquire())
+            return false;
+        start(task);
+        return true;
+    }
+
+    /**
+     * Calls the listener once as soon as the executor can accept a task again, which is right away if it can now, and
+     * otherwise on the thread of the next task that finishes. The listener must be short and must not block.
+     * @param listener the listener.
+     */
+    public void whenAccepting(Runnable listener) {
+        listeners.add(listener);
+        // A task that finished before the listener was added did not see it.
+        if (accepted.availablePermits() > 0)
+            notifyListeners();
+    }
+
+    private void notifyListeners() {
+        Runnable listener;
+        while ((listener = listeners.poll()) != null)
+            listener.run();
+    }
+
+    // Starts an accepted task on its own thread.
+    private void start(Runnable task) {
+        long start = System.nanoTime();
+        try {
+            threads.execute(() -> run(task, start));
+        } catch (RejectedExecutionException e) {
+            accepted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task, long start) {
+        try {
+            running.acquireUninterruptibly();
+            waits.record(System.nanoTime() - start);
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } finally {
+            latencies.record(System.nanoTime() - start);
+            accepted.release();
+            notifyListeners();
+        }
+    }
+
+    /**
+     * Returns the histogram of the latencies of the finished tasks, from when they were accepted until they finished.
+     * @return the latencies.
+     */
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the histogram of how long the tasks waited from when they were accepted until they started to run.
+     * @return the waiting times.
+     */
+    public LatencyHistogram waits() {
+        return waits;
+    }
+
+    /**
+     * Stops accepting tasks, and waits until the accepted tasks have finished.
+     */
+    @Override
+    public void close() {
+        threads.shutdown();
+        try {
+            threads.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package decide.server;
+
+import decide.core.CMV;
+import decide.core.FUV;
+import decide.core.LCM;
+import decide.core.PUM;
+import decide.core.Parameters;
+import decide.core.PointBuffer;
+import decide.io.DecisionReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A resident server that decides requests from local clients over a TCP or Unix-domain socket, so that every decision
+ * does not pay for starting and warming up a JVM.
+ * <p>
+ * Every request and every reply is a frame: its length in bytes as a 4-byte big-endian integer, followed by that many
+ * bytes of ASCII text. A request is one decision case in the text format of {@link DecisionReader}, with all the
+ * sections that it needs, since nothing is kept from earlier requests. The reply is four lines:
+ * <pre>
+ * YES or NO
+ * CMV 15 times 0 or 1
+ * PUM 15 rows of 15 times 0 or 1, separated by spaces
+ * FUV 15 times 0 or 1
+ * </pre>
+ * or the single line {@code ERROR} and a message if the request is malformed or invalid.
+ * <p>
+ * A client may send many requests without waiting for their replies. The requests of a connection are decided
+ * concurrently on the executor, but the replies are sent in the order of the requests. A connection stops being read
+ * while it has {@value #MAX_PENDING} requests without a sent reply, so that a fast client cannot queue up unbounded
+ * work. With a {@link DecisionExecutor}, a connection also stops being read while the executor is full, until it has
+ * room again, so that the thread that runs the server never blocks and keeps serving the other connections.
+ * <p>
+ * One thread runs the server with {@link #run()}, and any thread may stop it with {@link #close()}.
+ */
+public class DecisionServer implements Closeable {
+
+    // The largest request that is accepted. A connection that sends a larger frame is closed.
+    private static final int MAX_REQUEST = 64 << 20;
+
+    // The number of requests of one connection whose replies have not been sent yet, before reading stops.
+    private static final int MAX_PENDING = 1024;
+
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final Selector selector;
+    private final Executor executor;
+
+    // The executor if it is a DecisionExecutor, which refuses requests when it is full.
+    private final DecisionExecutor bounded;
+
+    // The connections where a reply has been completed, so that the selector thread sends it.
+    private final ConcurrentLinkedQueue<Connection> completed = new ConcurrentLinkedQueue<>();
+
+    // The connections that stopped reading because the executor was full, which only the selector thread uses, and
+    // whether the executor has had room since.
+    private final ArrayDeque<Connection> waiting = new ArrayDeque<>();
+    private volatile boolean roomAgain;
+
+    // Set by close(), after which the thread that runs the server closes everything and counts down stopped.
+    private volatile boolean closed;
+    private volatile Thread runner;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Creates a server that listens on the given address, which is an {@link java.net.InetSocketAddress} for TCP or a
+     * {@link UnixDomainSocketAddress}. A socket file that a killed server left behind at the address is deleted.
+     * @param address the address to listen on, where port 0 picks a free port.
+     * @param executor the executor that decides the requests.
+     * @throws IOException if the address cannot be bound.
+     */
+    public DecisionServer(SocketAddress address, Executor executor) throws IOException {
+        this.executor = executor;
+        bounded = executor instanceof DecisionExecutor ? (DecisionExecutor) executor : null;
+        if (address instanceof UnixDomainSocketAddress)
+            deleteStaleSocket((UnixDomainSocketAddress) address);
+        server = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        this.address = server.getLocalAddress();
+        selector = Selector.open();
+        server.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    // A server that was killed leaves its socket file behind, and binding to it fails. The file is only deleted if it
+    // is a socket that no server accepts connections on, so that neither a running server nor other files are touched.
+    private static void deleteStaleSocket(UnixDomainSocketAddress address) throws IOException {
+        Path path = address.getPath();
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+            return;
+        }
+        if (!attributes.isOther())
+            return;
+        try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            probe.connect(address);
+        } catch (ConnectException e) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Returns the address that the server listens on, with the port that was picked if the port was 0.
+     * @return the local address.
+     */
+    public SocketAddress address() {
+        return address;
+    }
+
+    /**
+     * Accepts connections and serves their requests until the server is closed.
+     * @throws IOException if the server socket fails.
+     */
+    public void run() throws IOException {
+        runner = Thread.currentThread();
+        try {
+            while (!closed) {
+                selector.select();
+
+                Connection connection;
+                while ((connection = completed.poll()) != null)
+                    connection.sendCompleted();
+                if (roomAgain) {
+                    roomAgain = false;
+                    // A connection that is refused again waits at the end of the queue.
+                    for (int i = waiting.size(); i > 0; i--)
+                        waiting.poll().resume();
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    connection = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable())
+                            connection.read();
+                        if (key.isValid() && key.isWritable())
+                            connection.write();
+                    } catch (IOException e) {
+                        // The client is gone or broke the protocol, which only ends its own connection.
+                        connection.close();
+                    }
+                }
+            }
+        } finally {
+            shutdown();
+            stopped.countDown();
+        }
+    }
+
+    /**
+     * Stops the server and closes all connections, and waits until the server has stopped. Requests that are being
+     * decided are decided, but not replied to.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        selector.wakeup();
+        Thread runner = this.runner;
+        if (runner == null) {
+            shutdown();
+        } else if (runner != Thread.currentThread()) {
+            try {
+                stopped.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private synchronized void shutdown() throws IOException {
+        if (!selector.isOpen())
+            return;
+        for (SelectionKey key : selector.keys())
+            key.channel().close();
+        selector.close();
+        // Unix-domain sockets leave a file behind.
+        if (address instanceof UnixDomainSocketAddress)
+            Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null)
+            return;
+        channel.configureBlocking(false);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    // Starts a task on the executor, or returns false if it is a full DecisionExecutor, which refuses the task
+    // instead of blocking the selector thread.
+    private boolean execute(Runnable task) {
+        if (bounded != null)
+            return bounded.tryExecute(task);
+        executor.execute(task);
+        return true;
+    }
+
+    /**
+     * Decides one request and returns the text of the reply, or an error message if the request is malformed.
+     * @param request the text of one decision case.
+     * @return the text of the reply.
+     */
+    static byte[] decide(byte[] request) {
+        try (DecisionReader reader = new DecisionReader(new ByteArrayInputStream(request))) {
+            if (!reader.next())
+                throw new IOException("The request has no decision case.");
+            Parameters parameters = reader.parameters();
+            LCM lcm = reader.lcm();
+            boolean[] puv = reader.puv();
+            PointBuffer points = reader.points();
+            if (reader.next())
+                throw new IOException("The request has more than one decision case.");
+            return decide(parameters, lcm, puv, points).getBytes(StandardCharsets.US_ASCII);
+        } catch (IOException | RuntimeException e) {
+            return error(e);
+        }
+    }
+
+    // Computes the full CMV, PUM and FUV, since the reply contains all of them.
+    private static String decide(Parameters parameters, LCM lcm, boolean[] puv, PointBuffer points) {
+        Parameters.verifyExtended(parameters, points);
+        CMV cmv = new CMV(parameters, points);
+        PUM pum = new PUM(lcm, cmv);
+        FUV fuv = new FUV(puv, pum);
+
+        StringBuilder reply = new StringBuilder(320);
+        reply.append(fuv.canLaunch() ? "YES" : "NO").append("\nCMV ");
+        for (int i = 0; i < CMV.CMV_SIZE; i++)
+            reply.append(cmv.get(i) ? '1' : '0');
+        reply.append("\nPUM");
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            reply.append(' ');
+            for (int j = 0; j < PUM.PUM_SIZE; j++)
+                reply.append(pum.get(i, j) ? '1' : '0');
+        }
+        reply.append("\nFUV ");
+        for (int i = 0; i < PUM.PUM_SIZE; i++)
+            reply.append(fuv.get(i) ? '1' : '0');
+        return reply.append('\n').toString();
+    }
+
+    private static byte[] error(Throwable e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.toString();
+        return ("ERROR " + message.replace('\n', ' ') + "\n").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // The state of one client connection. Only the selector thread uses it, except that the executor completes the
+    // replies and then queues the connection in completed.
+    private class Connection {
+        private final SocketChannel channel;
+        private SelectionKey key;
+
+        // The bytes that have been read but not yet taken as a frame, and the bytes of replies not yet written.
+        private ByteBuffer input = ByteBuffer.allocate(8192);
+        private ByteBuffer output = ByteBuffer.allocate(8192).flip();
+
+        // The replies of the requests that have not been sent yet, in the order of the requests.
+        private final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+
+        // The client has shut down its side, so no more requests come.
+        private boolean endOfInput;
+
+        // Reading stopped because the executor was full, and the connection is in waiting.
+        private boolean refused;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        // Reads what the client has sent and starts deciding the complete requests, unless too many are pending.
+        void read() throws IOException {
+            if (!endOfInput && (key.interestOps() & SelectionKey.OP_READ) != 0 && channel.read(input) < 0) {
+                endOfInput = true;
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            }
+            input.flip();
+            while (input.remaining() >= Integer.BYTES && pending.size() < MAX_PENDING) {
+                int length = input.getInt(input.position());
+                if (length < 0 || length > MAX_REQUEST)
+                    throw new IOException("Invalid frame length " + length + ".");
+                if (input.remaining() < Integer.BYTES + length) {
+                    if (input.capacity() < Integer.BYTES + length) {
+                        ByteBuffer larger = ByteBuffer.allocate(Integer.BYTES + length);
+                        larger.put(input).flip();
+                        input = larger;
+                    }
+                    break;
+                }
+                byte[] request = new byte[length];
+                input.get(input.position() + Integer.BYTES, request);
+                CompletableFuture<byte[]> reply = submit(request);
+                if (reply == null) {
+                    // The request stays in the input until the executor has room.
+                    waitForRoom();
+                    break;
+                }
+                input.position(input.position() + Integer.BYTES + length);
+                pending.add(reply);
+            }
+            input.compact();
+            if (pending.size() >= MAX_PENDING || refused)
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+            closeIfDone();
+        }
+
+        // Starts deciding a request, or returns null if the executor is full.
+        private CompletableFuture<byte[]> submit(byte[] request) {
+            CompletableFuture<byte[]> reply = new CompletableFuture<>();
+            Runnable task = () -> {
+                try {
+                    reply.complete(decide(request));
+                } catch (Throwable e) {
+                    // Such as an OutOfMemoryError, which must still be answered.
+                    reply.complete(error(e));
+                }
+            };
+            try {
+                if (!execute(task))
+                    return null;
+            } catch (RejectedExecutionException e) {
+                reply.complete(error(e));
+            }
+            reply.thenRun(() -> {
+                completed.add(this);
+                selector.wakeup();
+            });
+            return reply;
+        }
+
+        // Stops reading until the executor has room again, when the selector thread resumes the connection.
+        private void waitForRoom() {
+            if (refused)
+                return;
+            refused = true;
+            waiting.add(this);
+            bounded.whenAccepting(() -> {
+                roomAgain = true;
+                selector.wakeup();
+            });
+        }
+
+        void resume() {
+            refused = false;
+            if (!key.isValid())
+                return;
+            if (!endOfInput && pending.size() < MAX_PENDING)
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            try {
+                read();
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        // Moves the completed replies at the head of the queue to the output, in the order of the requests.
+        void sendCompleted() {
+            if (!key.isValid())
+                return;
+            boolean moved = false;
+            while (!pending.isEmpty() && pending.peek().isDone()) {
+                byte[] reply = pending.poll().join();
+                output.compact();
+                if (output.remaining() < Integer.BYTES + reply.length) {
+                    ByteBuffer larger = ByteBuffer.allocate(output.position() + Integer.BYTES + reply.length);
+                    larger.put(output.flip());
+                    output = larger;
+                }
+                output.putInt(reply.length).put(reply).flip();
+                moved = true;
+            }
+            if (!moved)
+                return;
+            try {
+                write();
+                if (pending.size() < MAX_PENDING && !refused && key.isValid()) {
+                    // Reading may have been paused, and requests that arrived meanwhile may already be in the input.
+                    if (!endOfInput)
+                        key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+                    read();
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void write() throws IOException {
+            channel.write(output);
+            if (output.hasRemaining())
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            else
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            closeIfDone();
+        }
+
+        // Closes the connection once the client has sent all its requests and all of them have been answered.
+        private void closeIfDone() {
+            if (endOfInput && !refused && pending.isEmpty() && !output.hasRemaining())
+                close();
+        }
+
+        void close() {
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // The connection is gone either way.
+            }
+        }
+    }
+}
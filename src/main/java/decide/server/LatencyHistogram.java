@@ -0,0 +1,127 @@
+package decide.server;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts latencies in nanoseconds in buckets whose width grows with the latency, so that every latency from 1 ns to
+ * centuries is counted with a relative error of at most 1/16, in a fixed amount of memory.
+ * <p>
+ * Latencies below 16 ns have a bucket each. Above, every power of two is split into 16 buckets of equal width, so a
+ * latency of 1 ms falls into a bucket that is 2^15 ns = 33 us wide. Recording is a few bit operations and an atomic
+ * increment, so many threads can record at once. The statistics are read without stopping the recording, so they
+ * may miss the latencies that are recorded at the same time.
+ */
+public class LatencyHistogram {
+
+    // Each power of two is split into 2^SUB_BITS buckets.
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    // Enough buckets for every non-negative long.
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     * @param nanos the latency in nanoseconds, where negative latencies count as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucket(value));
+        total.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     * @return the number of latencies.
+     */
+    public long count() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            count += counts.get(i);
+        return count;
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     * @return the mean latency in nanoseconds, or 0 if there are none.
+     */
+    public double mean() {
+        long count = count();
+        return count == 0 ? 0 : (double) total.get() / count;
+    }
+
+    /**
+     * Returns the largest recorded latency.
+     * @return the largest latency in nanoseconds, or 0 if there are none.
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns a latency that the given fraction of the recorded latencies do not exceed, such as 0.99 for the 99th
+     * percentile. It is the upper end of the bucket of that latency, so it is at most 1/16 too large.
+     * @param fraction a fraction from 0 to 1.
+     * @return the latency in nanoseconds, or 0 if there are none.
+     * @throws IllegalArgumentException if the fraction is not from 0 to 1.
+     */
+    public long percentile(double fraction) {
+        if (!(fraction >= 0 && fraction <= 1))
+            throw new IllegalArgumentException("The fraction must be in the range [0, 1].");
+        long[] snapshot = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank)
+                return Math.min(upperBound(i), max());
+        }
+        return max();
+    }
+
+    /**
+     * Returns a summary of the count, the mean, the median, the 90th, 99th and 99.9th percentile and the maximum, in
+     * microseconds.
+     * @return the summary.
+     */
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                count(), mean() / 1e3, percentile(0.5) / 1e3, percentile(0.9) / 1e3, percentile(0.99) / 1e3,
+                percentile(0.999) / 1e3, max() / 1e3);
+    }
+
+    // The index of the bucket of a non-negative value.
+    private static int bucket(long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) - SUB_BUCKETS;
+        return SUB_BUCKETS + (exponent - SUB_BITS) * SUB_BUCKETS + sub;
+    }
+
+    // The largest value in a bucket.
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = (bucket - SUB_BUCKETS) / SUB_BUCKETS + SUB_BITS;
+        long sub = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        long width = 1L << (exponent - SUB_BITS);
+        long lower = (SUB_BUCKETS + sub) * width;
+        return lower + (width - 1);
+    }
+}
@@ -0,0 +1,78 @@
+package decide.vector;
+
+import decide.core.ScalarStrideKernels;
+import decide.core.StrideKernels;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The stride kernels with the incubating Vector API, which evaluate as many windows at once as there are double
+ * lanes in the widest SIMD registers of the CPU. The lanes do exactly the same arithmetic as
+ * {@link ScalarStrideKernels}, so the results are identical. The windows that do not fill a whole vector at the end
+ * are evaluated one at a time, and the bounds whose square is not a normal number are left to the scalar kernels.
+ * <p>
+ * Needs the JVM flag {@code --add-modules jdk.incubator.vector}.
+ */
+public class VectorStrideKernels implements StrideKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private final ScalarStrideKernels scalar = new ScalarStrideKernels();
+
+    @Override
+    public boolean anyDistanceGreaterThan(double[] xs, double[] ys, int stride, double length) {
+        double squaredLength = length * length;
+        if (!isPlainBound(length, squaredLength))
+            return scalar.anyDistanceGreaterThan(xs, ys, stride, length);
+
+        int windows = xs.length - stride;
+        int i = 0;
+        for (; i < SPECIES.loopBound(windows); i += SPECIES.length()) {
+            if (squaredDistances(xs, ys, i, stride).compare(VectorOperators.GT, squaredLength).anyTrue())
+                return true;
+        }
+        for (; i < windows; i++) {
+            if (squaredDistance(xs, ys, i, stride) > squaredLength)
+                return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean anyDecrease(double[] xs, int stride) {
+        int windows = xs.length - stride;
+        int i = 0;
+        for (; i < SPECIES.loopBound(windows); i += SPECIES.length()) {
+            DoubleVector x1 = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector x2 = DoubleVector.fromArray(SPECIES, xs, i + stride);
+            if (x2.sub(x1).compare(VectorOperators.LT, 0).anyTrue())
+                return true;
+        }
+        for (; i < windows; i++) {
+            if (xs[i + stride] - xs[i] < 0)
+                return true;
+        }
+        return false;
+    }
+
+    // The squared distances of the windows i to i + SPECIES.length() - 1, in the same order of operations as
+    // the scalar kernels.
+    private static DoubleVector squaredDistances(double[] xs, double[] ys, int i, int stride) {
+        DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i).sub(DoubleVector.fromArray(SPECIES, xs, i + stride));
+        DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i).sub(DoubleVector.fromArray(SPECIES, ys, i + stride));
+        return dx.mul(dx).add(dy.mul(dy));
+    }
+
+    private static double squaredDistance(double[] xs, double[] ys, int i, int stride) {
+        double dx = xs[i] - xs[i + stride];
+        double dy = ys[i] - ys[i + stride];
+        return dx * dx + dy * dy;
+    }
+
+    // A positive bound whose square is a normal number, where comparing squares is exactly what
+    // MathTools.lengthGreaterThan does.
+    private static boolean isPlainBound(double length, double squaredLength) {
+        return length > 0 && squaredLength >= Double.MIN_NORMAL && squaredLength != Double.POSITIVE_INFINITY;
+    }
+}
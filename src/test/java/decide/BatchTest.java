@@ -0,0 +1,89 @@
+package decide;
+
+import decide.core.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchTest {
+
+    /**
+     * Creates valid parameters where all LICs are false for 100 points at the origin.
+     */
+    private static Parameters parameters() {
+        Parameters params = new Parameters();
+        params.LENGTH1 = 1.0;
+        params.RADIUS1 = 1.0;
+        params.EPSILON = 1.0;
+        params.AREA1 = 1.0;
+        params.Q_PTS = 2;
+        params.QUADS = 1;
+        params.DIST = 1.0;
+        params.N_PTS = 3;
+        params.K_PTS = 1;
+        params.A_PTS = 1;
+        params.B_PTS = 1;
+        params.C_PTS = 1;
+        params.D_PTS = 1;
+        params.E_PTS = 1;
+        params.F_PTS = 1;
+        params.G_PTS = 1;
+        params.LENGTH2 = 1.0;
+        params.RADIUS2 = 1.0;
+        params.AREA2 = 1.0;
+        return params;
+    }
+
+    /**
+     * Creates an LCM where every entry has the same value.
+     */
+    private static LCM lcm(LCM.Value value) {
+        LCM lcm = new LCM();
+        for (int i = 0; i < LCM.LCM_SIZE; i++)
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                lcm.set(i, j, value);
+        return lcm;
+    }
+
+    /**
+     * Check that the batch returns one decision per entry, in the order the entries were added,
+     * and that every decision is the same as when the entry is decided on its own.
+     */
+    @Test
+    @DisplayName("Batch decisions match single decisions")
+    void batchMatchesSingleDecisionsTest() {
+        Point[] points = new Point[100];
+        Arrays.fill(points, new Point(0, 0));
+
+        boolean[] allTrue = new boolean[PUM.PUM_SIZE];
+        Arrays.fill(allTrue, true);
+
+        Batch batch = new Batch();
+        // No LICs are true and every LIC is considered, so only the NOTUSED entry leads to a launch.
+        batch.add(parameters(), points, lcm(LCM.Value.ORR), allTrue);
+        batch.add(parameters(), points, lcm(LCM.Value.NOTUSED), allTrue);
+        batch.add(parameters(), points, lcm(LCM.Value.ANDD), allTrue);
+        // No LICs are considered, so this entry leads to a launch.
+        batch.add(parameters(), points, lcm(LCM.Value.ANDD), new boolean[PUM.PUM_SIZE]);
+
+        assertEquals(4, batch.size());
+
+        boolean[] expected = {false, true, false, true};
+        assertArrayEquals(expected, batch.decide());
+        assertArrayEquals(expected, batch.decideParallel());
+    }
+
+    /**
+     * Check that deciding an empty batch gives an empty result.
+     */
+    @Test
+    @DisplayName("Empty batch")
+    void emptyBatchTest() {
+        Batch batch = new Batch();
+        assertEquals(0, batch.decide().length);
+        assertEquals(0, batch.decideParallel().length);
+    }
+}
@@ -1,14 +1,25 @@
 package decide;
 
 import decide.core.CMV;
+import decide.core.CMVSweep;
+import decide.core.MathTools;
 import decide.core.Parameters;
 import decide.core.Point;
+import decide.core.PointBuffer;
+import decide.core.Triangle;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class CMVTest {
@@ -278,6 +289,37 @@ public class CMVTest {
         assertFalse(cmv.get(4));
     }
 
+    /**
+     * Test that the sliding window in LIC 4 gives the same result as collecting the quadrants of every window,
+     * including windows of every size up to past the number of points.
+     */
+    @Test
+    @DisplayName("LIC 4 Sliding window")
+    void lic4SlidingWindowTest() {
+        Random random = new Random(15);
+        for (int run = 0; run < 2000; run++) {
+            int numPoints = 1 + random.nextInt(30);
+            Point[] points = TestInputs.points(random, numPoints);
+            Parameters params = new Parameters();
+            params.Q_PTS = 1 + random.nextInt(numPoints + 2);
+            params.QUADS = random.nextInt(4);
+
+            assertEquals(lic4WindowScan(params, points), new CMV(params, points).get(4));
+        }
+    }
+
+    // The original implementation of LIC 4, which collected the quadrants of every window in a set.
+    private static boolean lic4WindowScan(Parameters params, Point[] points) {
+        for (int i = 0; i <= points.length - params.Q_PTS; i++) {
+            Set<Point.Quadrant> quadrants = new HashSet<>();
+            for (int j = i; j < i + params.Q_PTS; j++)
+                quadrants.add(points[j].getQuadrant());
+            if (quadrants.size() > params.QUADS)
+                return true;
+        }
+        return false;
+    }
+
     /**
      * Test that LIC 5 is true when there exists at least one set of two consecutive data points, (X[i],Y[i]) and
      * (X[j],Y[j]), such that X[j] - X[i] < 0. (where i = j-1)
@@ -382,6 +424,144 @@ public class CMVTest {
         assertFalse(cmv.get(6));
     }
 
+    /**
+     * Test that LIC 6 measures the distance from a vertical line, where the slope of the line is infinite.
+     */
+    @Test
+    @DisplayName("LIC 6 Vertical line")
+    void lic6VerticalLineTest() {
+        Parameters params = new Parameters();
+        params.DIST = 1;
+        params.N_PTS = 3;
+        Point[] points = new Point[3];
+        points[0] = new Point(2, 0);
+        points[1] = new Point(4, 5);
+        points[2] = new Point(2, 10);
+
+        // points[1] is at a distance 2 from the line x = 2.
+        assertTrue(new CMV(params, points).get(6));
+
+        params.DIST = 2;
+        assertFalse(new CMV(params, points).get(6));
+    }
+
+    /**
+     * Test that skipping the windows whose bounding box is within DIST gives the same result as checking every point
+     * of every window, for windows that are large enough to be skipped.
+     */
+    @Test
+    @DisplayName("LIC 6 Pruned windows")
+    void lic6PruningTest() {
+        Random random = new Random(16);
+        for (int run = 0; run < 2000; run++) {
+            int numPoints = 3 + random.nextInt(60);
+            Point[] points = TestInputs.points(random, numPoints);
+            // Runs of points that lie near a line, so that most bounding boxes are close to the line.
+            if (run % 2 == 0) {
+                for (int i = 0; i < numPoints; i++)
+                    points[i] = new Point(i % 10 + random.nextInt(2), (i % 10) * 2 + random.nextInt(2));
+            }
+            Parameters params = new Parameters();
+            params.N_PTS = 3 + random.nextInt(numPoints - 2);
+            params.DIST = random.nextInt(40) / 4.0;
+
+            assertEquals(lic6Scan(params, points), new CMV(params, points).get(6));
+        }
+    }
+
+    /**
+     * Test that LIC 6 finds the farthest point of all windows exactly, when there are so many windows without a point
+     * far enough away that the farthest points are looked up in the tree of convex hulls. DIST is set just below and
+     * just above the largest distance, so that only the window with the farthest point decides the result. Before the
+     * last quarter of each track the points are close to the line or point of every window, but the bounding boxes
+     * reach further, so that every window is scanned.
+     */
+    @Test
+    @DisplayName("LIC 6 Hull tree")
+    void lic6HullTreeTest() {
+        Random random = new Random(21);
+        for (int run = 0; run < 400; run++) {
+            int numPoints = 400 + random.nextInt(400);
+            // An even N_PTS, so that the first and the last point of a window are an even and an odd point. The windows
+            // are wide, so that the points before the last quarter are scanned often enough for the tree to be built.
+            int nPts = 2 * (30 + random.nextInt(20));
+            Point[] points = run % 2 == 0 ? diagonalTrack(random, numPoints) : ringTrack(random, numPoints, nPts);
+
+            Parameters params = new Parameters();
+            params.N_PTS = nPts;
+            double farthest = lic6Farthest(params, points);
+
+            params.DIST = farthest * (1 - 1e-9);
+            assertTrue(new CMV(params, points).get(6));
+            params.DIST = farthest * (1 + 1e-9);
+            assertFalse(new CMV(params, points).get(6));
+        }
+    }
+
+    // A track that jumps between the two ends of the diagonal y = x, at most 1 away from it, so that the line from the
+    // first to the last point of a window stays close to the diagonal. In the last quarter, a few points are about 6
+    // away from the diagonal, and how far exactly depends on the line of each window.
+    private static Point[] diagonalTrack(Random random, int numPoints) {
+        Point[] points = new Point[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            int t = (i % 2 == 0 ? -10 : 6) + random.nextInt(5);
+            points[i] = new Point(t, t + random.nextInt(3) - 1);
+            if (i > numPoints * 3 / 4 && random.nextInt(50) == 0)
+                points[i] = new Point(random.nextInt(3) - 1, random.nextBoolean() ? 8 : -8);
+        }
+        return points;
+    }
+
+    // A track that repeats itself on the integer points of a ring of radius 5, so that the first and last point of
+    // every window coincide and all points are within 11 of each other. In the second half, two points on opposite
+    // sides are replaced by (-6, 0) and (6, 0), which are within 11 of every point of the ring but 12 apart, half a
+    // window from each other.
+    private static Point[] ringTrack(Random random, int numPoints, int nPts) {
+        Point[] ring = {new Point(5, 0), new Point(4, 3), new Point(3, 4), new Point(0, 5), new Point(-3, 4),
+                new Point(-4, 3), new Point(-5, 0), new Point(-4, -3), new Point(-3, -4), new Point(0, -5),
+                new Point(3, -4), new Point(4, -3)};
+        int period = nPts - 1;
+        int phase = random.nextInt(period);
+        Point[] pattern = new Point[period];
+        for (int i = 0; i < period; i++)
+            pattern[i] = ring[random.nextInt(ring.length)];
+
+        Point[] points = new Point[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            points[i] = pattern[i % period];
+            if (i > numPoints / 2 && i % period == phase)
+                points[i] = new Point(-6, 0);
+            if (i > numPoints / 2 && i % period == (phase + period / 2) % period)
+                points[i] = new Point(6, 0);
+        }
+        return points;
+    }
+
+    // LIC 6 without skipping any windows, with the distance from the line as |cross| / |last - first|.
+    private static boolean lic6Scan(Parameters params, Point[] points) {
+        return lic6Farthest(params, points) > params.DIST;
+    }
+
+    // The largest distance of a point from the line, or the point, of its window.
+    private static double lic6Farthest(Parameters params, Point[] points) {
+        double farthest = 0;
+        for (int first = 0; first + params.N_PTS <= points.length; first++) {
+            Point a = points[first];
+            Point b = points[first + params.N_PTS - 1];
+            for (int i = first + 1; i < first + params.N_PTS - 1; i++) {
+                Point p = points[i];
+                double distance;
+                if (a.equals(b))
+                    distance = p.distance(a);
+                else
+                    distance = Math.abs((b.x - a.x) * (p.y - a.y) - (b.y - a.y) * (p.x - a.x)) / a.distance(b);
+                if (distance > farthest)
+                    farthest = distance;
+            }
+        }
+        return farthest;
+    }
+
     /**
      * Test that LIC 7 is true when there exists at least one set of two data points separated by exactly K_PTS
      * consecutive intervening points that are further than LENGTH1 apart.
@@ -565,6 +745,29 @@ public class CMVTest {
         assertFalse(cmv.get(9));
     }
 
+    /**
+     * Test LIC 9 for a stationary target, where long runs of identical points make most angles undefined.
+     */
+    @Test
+    @DisplayName("LIC 9 Stationary target")
+    void lic9StationaryTest() {
+        Parameters params = new Parameters();
+        params.EPSILON = Math.PI/4;
+        params.C_PTS = 1;
+        params.D_PTS = 1;
+
+        Point[] points = new Point[100];
+        Arrays.fill(points, new Point(3.0, 4.0));
+
+        assertFalse(new CMV(params, points).get(9));
+
+        // The points 95, 97 and 99 form an angle of PI/4 at the end of the run, which satisfies the LIC.
+        points[97] = new Point(3.0, 5.0);
+        points[99] = new Point(4.0, 4.0);
+
+        assertTrue(new CMV(params, points).get(9));
+    }
+
     /**
      * Test that LIC 10 is true when there exists at least one set of three data points separated by exactly E_PTS and
      * F_PTS consecutive intervening points, respectively, that are the vertices of a triangle with area greater than
@@ -880,4 +1083,228 @@ public class CMVTest {
 
         assertFalse(cmv.get(14));
     }
+
+    /**
+     * Test that computing the LICs in parallel gives exactly the same CMV as computing them one after another.
+     */
+    @Test
+    @DisplayName("Parallel CMV matches sequential CMV")
+    void parallelMatchesSequentialTest() {
+        Random random = new Random(6);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int run = 0; run < 500; run++) {
+                int numPoints = 5 + random.nextInt(96);
+                Parameters parameters = TestInputs.parameters(random, numPoints);
+                Point[] points = TestInputs.points(random, numPoints);
+
+                assertArrayEquals(TestInputs.toArray(new CMV(parameters, points)),
+                        TestInputs.toArray(new CMV(parameters, points, pool)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test that the scans for both parts of LICs 12, 13 and 14, which stop as soon as both parts are met, give the
+     * same results as checking each part over all windows on its own.
+     */
+    @Test
+    @DisplayName("LICs 12-14 Two-sided scan")
+    void twoSidedScanTest() {
+        Random random = new Random(20);
+        for (int run = 0; run < 2000; run++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters p = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            CMV cmv = new CMV(p, points);
+
+            boolean longer = false, shorter = false;
+            for (int i = 0; i + p.K_PTS + 1 < numPoints; i++) {
+                double distance = points[i].distance(points[i + p.K_PTS + 1]);
+                longer |= distance > p.LENGTH1;
+                shorter |= distance < p.LENGTH2;
+            }
+            assertEquals(longer && shorter, cmv.get(12));
+
+            boolean notCovered = false, covered = false;
+            for (int i = 0; i + p.A_PTS + p.B_PTS + 2 < numPoints; i++) {
+                Point a = points[i];
+                Point b = points[i + p.A_PTS + 1];
+                Point c = points[i + p.A_PTS + p.B_PTS + 2];
+                notCovered |= !MathTools.pointsAreCoveredByCircle(a, b, c, p.RADIUS1);
+                covered |= MathTools.pointsAreCoveredByCircle(a, b, c, p.RADIUS2);
+            }
+            assertEquals(notCovered && covered, cmv.get(13));
+
+            boolean larger = false, smaller = false;
+            for (int i = 0; i + p.E_PTS + p.F_PTS + 2 < numPoints; i++) {
+                double area = Triangle.area(points[i], points[i + p.E_PTS + 1], points[i + p.E_PTS + p.F_PTS + 2]);
+                larger |= area > p.AREA1;
+                smaller |= area < p.AREA2;
+            }
+            assertEquals(larger && smaller, cmv.get(14));
+        }
+    }
+
+    /**
+     * Test that a lazy CMV only computes a LIC when its element is read, and gives the same result as a CMV
+     * that computes all the LICs at once.
+     */
+    @Test
+    @DisplayName("Lazy CMV matches CMV")
+    void lazyMatchesEagerTest() {
+        Random random = new Random(7);
+        for (int run = 0; run < 500; run++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters parameters = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+
+            CMV eager = new CMV(parameters, points);
+            CMV lazy = CMV.lazy(parameters, points);
+
+            for (int i = 0; i < CMV.CMV_SIZE; i++) {
+                assertTrue(eager.isComputed(i));
+                assertFalse(lazy.isComputed(i));
+            }
+
+            // Read the elements in a random order.
+            for (int k = 0; k < CMV.CMV_SIZE; k++) {
+                int i = random.nextInt(CMV.CMV_SIZE);
+                assertEquals(eager.get(i), lazy.get(i));
+                assertTrue(lazy.isComputed(i));
+            }
+        }
+    }
+
+    /**
+     * Test that LICs 7 and 12, 8 and 13, and 10 and 14 of one CMV read the same window values, whichever of them is
+     * read first. The points are moved to the origin after the first LIC of a pair is read, so the second LIC only
+     * still holds if it reads the values of the first one instead of measuring the moved points again.
+     */
+    @Test
+    @DisplayName("Shared window geometry")
+    void sharedGeometryTest() {
+        Parameters parameters = new Parameters();
+        parameters.K_PTS = 1;
+        parameters.A_PTS = 1;
+        parameters.B_PTS = 1;
+        parameters.E_PTS = 1;
+        parameters.F_PTS = 1;
+        parameters.LENGTH1 = 1;
+        parameters.LENGTH2 = 100;
+        parameters.RADIUS1 = 1;
+        parameters.RADIUS2 = 100;
+        parameters.AREA1 = 1;
+        parameters.AREA2 = 100;
+
+        // Few enough points that reading a LIC computes the values of all its windows.
+        Point[] points = TestInputs.points(new Random(18), 20);
+        int[][] pairs = {{7, 12}, {8, 13}, {10, 14}};
+        for (int[] pair : pairs) {
+            for (int order = 0; order < 2; order++) {
+                int first = pair[order];
+                int second = pair[1 - order];
+                assertTrue(CMV.lazy(parameters, points).get(second));
+
+                double[] xs = new double[points.length];
+                double[] ys = new double[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    xs[i] = points[i].x;
+                    ys[i] = points[i].y;
+                }
+                PointBuffer buffer = new PointBuffer(xs, ys);
+                CMV cmv = CMV.lazy(parameters, buffer);
+                assertTrue(cmv.get(first));
+                Arrays.fill(xs, 0);
+                Arrays.fill(ys, 0);
+                assertFalse(CMV.lazy(parameters, buffer).get(second));
+                assertTrue(cmv.get(second), "LIC " + second + " after LIC " + first);
+            }
+        }
+    }
+
+    /**
+     * Test that the LICs of one CMV, which share the values of their windows, give the same results as LICs that
+     * each have a CMV of their own, for any order in which they are read.
+     */
+    @Test
+    @DisplayName("Shared window geometry matches unshared")
+    void sharedMatchesUnsharedTest() {
+        Random random = new Random(19);
+        for (int run = 0; run < 500; run++) {
+            int numPoints = 5 + random.nextInt(296);
+            Parameters parameters = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+
+            CMV shared = CMV.lazy(parameters, points);
+            for (int k = 0; k < CMV.CMV_SIZE; k++) {
+                int i = random.nextInt(CMV.CMV_SIZE);
+                assertEquals(CMV.lazy(parameters, points).get(i), shared.get(i), "LIC " + i);
+            }
+        }
+    }
+
+    /**
+     * Test that a sweep gives the same CMV as computing the CMV for each set of thresholds. The thresholds are
+     * multiples of 0.5, so that many distances, radii and areas of the grid points lie exactly on a threshold.
+     */
+    @Test
+    @DisplayName("Sweep matches CMV")
+    void sweepMatchesCMVTest() {
+        Random random = new Random(17);
+        for (int run = 0; run < 300; run++) {
+            int numPoints = 5 + random.nextInt(46);
+            Parameters windows = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            CMVSweep sweep = new CMVSweep(windows, points);
+
+            for (int variant = 0; variant < 20; variant++) {
+                Parameters thresholds = TestInputs.parameters(random, numPoints);
+                copyWindows(windows, thresholds);
+                thresholds.LENGTH1 = random.nextInt(12) * 0.5;
+                thresholds.RADIUS1 = random.nextInt(8) * 0.5;
+                thresholds.AREA1 = random.nextInt(12) * 0.5;
+                thresholds.DIST = random.nextInt(8) * 0.5;
+                thresholds.LENGTH2 = random.nextInt(12) * 0.5;
+                thresholds.RADIUS2 = random.nextInt(8) * 0.5;
+                thresholds.AREA2 = random.nextInt(12) * 0.5;
+
+                assertEquals(new CMV(thresholds, points).mask(), sweep.mask(thresholds));
+            }
+        }
+    }
+
+    /**
+     * Test that a sweep rejects parameters with other window sizes than the sweep was created with.
+     */
+    @Test
+    @DisplayName("Sweep with other windows")
+    void sweepOtherWindowsTest() {
+        Random random = new Random(18);
+        Parameters windows = TestInputs.parameters(random, 10);
+        CMVSweep sweep = new CMVSweep(windows, TestInputs.points(random, 10));
+
+        Parameters thresholds = TestInputs.parameters(random, 10);
+        copyWindows(windows, thresholds);
+        sweep.mask(thresholds);
+
+        thresholds.K_PTS = windows.K_PTS + 1;
+        assertThrows(IllegalArgumentException.class, () -> sweep.mask(thresholds));
+    }
+
+    // Copies the window sizes, which a sweep cannot change.
+    private static void copyWindows(Parameters from, Parameters to) {
+        to.Q_PTS = from.Q_PTS;
+        to.N_PTS = from.N_PTS;
+        to.K_PTS = from.K_PTS;
+        to.A_PTS = from.A_PTS;
+        to.B_PTS = from.B_PTS;
+        to.C_PTS = from.C_PTS;
+        to.D_PTS = from.D_PTS;
+        to.E_PTS = from.E_PTS;
+        to.F_PTS = from.F_PTS;
+        to.G_PTS = from.G_PTS;
+    }
 }
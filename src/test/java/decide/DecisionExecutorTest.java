@@ -0,0 +1,155 @@
+package decide;
+
+import decide.server.DecisionExecutor;
+import decide.server.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecisionExecutorTest {
+
+    /**
+     * Test that all tasks run, that no more tasks than the concurrency run at once, and that the latency of every task
+     * is recorded.
+     */
+    @Test
+    @DisplayName("Bounded concurrency")
+    void boundedConcurrencyTest() throws Exception {
+        int concurrency = 3;
+        int count = 500;
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger mostActive = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(count);
+
+        DecisionExecutor executor = new DecisionExecutor(concurrency, 20);
+        for (int i = 0; i < count; i++) {
+            executor.execute(() -> {
+                mostActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                active.decrementAndGet();
+                done.countDown();
+            });
+        }
+        executor.close();
+
+        assertEquals(0, done.getCount());
+        assertTrue(mostActive.get() <= concurrency, "at most " + concurrency + " at once, but " + mostActive);
+        assertEquals(count, executor.latencies().count());
+        assertEquals(count, executor.waits().count());
+        assertTrue(executor.latencies().percentile(0.5) >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Test that submitting blocks while the executor has accepted as many tasks as its capacity, and resumes when one
+     * of them has finished.
+     */
+    @Test
+    @DisplayName("Backpressure")
+    void backpressureTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Runnable blocked = () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        DecisionExecutor executor = new DecisionExecutor(1, 2);
+        executor.execute(blocked);
+        executor.execute(blocked);
+
+        CountDownLatch submitted = new CountDownLatch(1);
+        Thread submitter = new Thread(() -> {
+            executor.execute(() -> { });
+            submitted.countDown();
+        });
+        submitter.start();
+
+        assertFalse(submitted.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(submitted.await(10, TimeUnit.SECONDS));
+        executor.close();
+        assertEquals(3, executor.latencies().count());
+    }
+
+    /**
+     * Test that a full executor refuses a task without blocking, and calls a listener once it has room again, or right
+     * away if it already has room.
+     */
+    @Test
+    @DisplayName("Refuse when full")
+    void refuseWhenFullTest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        DecisionExecutor executor = new DecisionExecutor(1, 1);
+        assertTrue(executor.tryExecute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertFalse(executor.tryExecute(() -> { }));
+
+        CountDownLatch room = new CountDownLatch(1);
+        executor.whenAccepting(room::countDown);
+        assertFalse(room.await(100, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(room.await(10, TimeUnit.SECONDS));
+
+        CountDownLatch roomNow = new CountDownLatch(1);
+        executor.whenAccepting(roomNow::countDown);
+        assertEquals(0, roomNow.getCount());
+        assertTrue(executor.tryExecute(() -> { }));
+        executor.close();
+        assertEquals(2, executor.latencies().count());
+    }
+
+    /**
+     * Test that an invalid concurrency or capacity is rejected.
+     */
+    @Test
+    @DisplayName("Invalid bounds")
+    void invalidBoundsTest() {
+        assertThrows(IllegalArgumentException.class, () -> new DecisionExecutor(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new DecisionExecutor(4, 3));
+    }
+
+    /**
+     * Test that the percentiles of the histogram are at most 1/16 larger than the exact percentiles, and never
+     * smaller, over latencies from nanoseconds to minutes.
+     */
+    @Test
+    @DisplayName("Latency histogram percentiles")
+    void histogramTest() {
+        Random random = new Random(25);
+        long[] latencies = new long[10000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = (long) Math.pow(10, random.nextDouble() * 11);
+            histogram.record(latencies[i]);
+        }
+        Arrays.sort(latencies);
+
+        assertEquals(latencies.length, histogram.count());
+        assertEquals(latencies[latencies.length - 1], histogram.max());
+        assertEquals(latencies[latencies.length - 1], histogram.percentile(1));
+        for (double fraction : new double[]{0.001, 0.1, 0.5, 0.9, 0.99, 0.999}) {
+            long exact = latencies[(int) Math.ceil(fraction * latencies.length) - 1];
+            long estimate = histogram.percentile(fraction);
+            assertTrue(estimate >= exact && estimate <= exact + exact / 16, fraction + ": " + estimate + " " + exact);
+        }
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentile(1.5));
+        assertEquals(0, new LatencyHistogram().percentile(0.5));
+    }
+}
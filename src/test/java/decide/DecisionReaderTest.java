@@ -0,0 +1,232 @@
+package decide;
+
+import decide.core.LCM;
+import decide.core.PUM;
+import decide.core.Parameters;
+import decide.core.Point;
+import decide.io.DecisionReader;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecisionReaderTest {
+
+    private static final String CASE = String.join("\n",
+            "# the first case",
+            "LENGTH1 1.5  RADIUS1 2 EPSILON 0.25 AREA1 3e1",
+            "Q_PTS 2 QUADS 1 DIST 1.0 N_PTS 3 K_PTS 1 A_PTS 1 B_PTS 2 C_PTS 1 D_PTS 3 E_PTS 1 F_PTS 4 G_PTS 5",
+            "LENGTH2 -1.5 RADIUS2 .5 AREA2 7.",
+            "PUV true false true false true false true false true false true false true false true",
+            "LCM",
+            lcmRows(),
+            "POINTS 3 # three points",
+            "0 0",
+            "1.25 -2",
+            "\t-0.0\r\n1e-3",
+            "");
+
+    /**
+     * Test that all parameters, the LCM, the PUV and the points of a case are read.
+     */
+    @Test
+    @DisplayName("Read a decision case")
+    void readCaseTest() throws IOException {
+        DecisionReader reader = new DecisionReader(stream(CASE));
+
+        assertTrue(reader.next());
+
+        assertCase(reader);
+        assertTrue(reader.decisionChanged());
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Test that the sections that a case leaves out keep the values of the previous case.
+     */
+    @Test
+    @DisplayName("Read a stream of decision cases")
+    void readStreamTest() throws IOException {
+        DecisionReader reader = new DecisionReader(stream(CASE + "LENGTH1 4 POINTS 1 5 6\nPUV" +
+                " false false false false false false false false false false false false false false true POINTS 0"));
+
+        assertTrue(reader.next());
+        assertTrue(reader.next());
+        assertEquals(4, reader.parameters().LENGTH1);
+        assertEquals(2, reader.parameters().RADIUS1);
+        assertEquals(LCM.Value.ORR, reader.lcm().get(1, 0));
+        assertTrue(reader.puv()[0]);
+        assertArrayEquals(new Point[]{new Point(5, 6)}, reader.points().toPoints());
+        assertFalse(reader.decisionChanged());
+
+        assertTrue(reader.next());
+        assertFalse(reader.puv()[0]);
+        assertTrue(reader.puv()[14]);
+        assertEquals(0, reader.points().size());
+        assertTrue(reader.decisionChanged());
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Test that the first case counts as a changed decision even without an LCM or a PUV, and a later case without
+     * them does not.
+     */
+    @Test
+    @DisplayName("First case without LCM and PUV")
+    void firstCaseDecisionChangedTest() throws IOException {
+        DecisionReader reader = new DecisionReader(stream("LENGTH1 1 POINTS 0 LENGTH1 2 POINTS 0"));
+
+        assertTrue(reader.next());
+        assertTrue(reader.decisionChanged());
+        assertEquals(LCM.Value.NOTUSED, reader.lcm().get(0, 1));
+        assertTrue(reader.next());
+        assertFalse(reader.decisionChanged());
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Test that a stream that delivers one byte at a time gives the same case, so that tokens that are split across
+     * reads are put together.
+     */
+    @Test
+    @DisplayName("Read a decision case byte by byte")
+    void readBytewiseTest() throws IOException {
+        byte[] bytes = CASE.getBytes(StandardCharsets.US_ASCII);
+        InputStream trickle = new ByteArrayInputStream(bytes) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        DecisionReader reader = new DecisionReader(trickle);
+
+        assertTrue(reader.next());
+
+        assertCase(reader);
+        assertFalse(reader.next());
+    }
+
+    /**
+     * Test that numbers are parsed to exactly the same doubles as by Double.parseDouble, both the numbers that are
+     * parsed in place and the numbers with many digits, large exponents or special values.
+     */
+    @Test
+    @DisplayName("Read numbers")
+    void readNumbersTest() throws IOException {
+        Random random = new Random(23);
+        String[] numbers = new String[20000];
+        for (int i = 0; i < numbers.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    numbers[i] = Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+                    break;
+                case 1:
+                    numbers[i] = Double.toString(Double.longBitsToDouble(random.nextLong()));
+                    break;
+                case 2:
+                    numbers[i] = (random.nextBoolean() ? "-" : "") + random.nextInt(100000) + "." +
+                            random.nextInt(1000000) + "e" + (random.nextInt(60) - 30);
+                    break;
+                default:
+                    numbers[i] = random.nextLong() + "." + random.nextInt(10000);
+                    break;
+            }
+        }
+        numbers[0] = "Infinity";
+        numbers[1] = "-0";
+        numbers[2] = "123456789012345678901234567890";
+        numbers[3] = "9007199254740993";
+        numbers[4] = "1e23";
+        numbers[5] = "+4.9e-324";
+
+        DecisionReader reader = new DecisionReader(stream("POINTS " + numbers.length / 2 + " " +
+                String.join(" ", numbers)));
+
+        assertTrue(reader.next());
+        for (int i = 0; i < numbers.length; i++) {
+            double expected = Double.parseDouble(numbers[i]);
+            double read = i % 2 == 0 ? reader.points().x(i / 2) : reader.points().y(i / 2);
+            assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(read), numbers[i]);
+        }
+    }
+
+    /**
+     * Test that malformed or incomplete cases are rejected.
+     */
+    @Test
+    @DisplayName("Read malformed decision cases")
+    void malformedCasesTest() {
+        String[] malformed = {
+                "LENGTH3 1 POINTS 0",
+                "LENGTH1 1",
+                "LENGTH1 1.5x POINTS 0",
+                "LENGTH1 1.5d POINTS 0",
+                "LENGTH1 - POINTS 0",
+                "N_PTS 1.5 POINTS 0",
+                "N_PTS 2147483648 POINTS 0",
+                "PUV true false POINTS 0",
+                "PUV yes no no no no no no no no no no no no no no POINTS 0",
+                "LCM ANDD ORR",
+                "LCM AND" + " ORR".repeat(224) + " POINTS 0",
+                "POINTS -1",
+                "POINTS 2 0 0 1",
+        };
+        for (String input : malformed) {
+            DecisionReader reader = new DecisionReader(stream(input));
+            assertThrows(IOException.class, reader::next, input);
+        }
+    }
+
+    private static void assertCase(DecisionReader reader) {
+        Parameters p = reader.parameters();
+        assertEquals(1.5, p.LENGTH1);
+        assertEquals(2, p.RADIUS1);
+        assertEquals(0.25, p.EPSILON);
+        assertEquals(30, p.AREA1);
+        assertEquals(2, p.Q_PTS);
+        assertEquals(1, p.QUADS);
+        assertEquals(1, p.DIST);
+        assertEquals(3, p.N_PTS);
+        assertEquals(1, p.K_PTS);
+        assertEquals(1, p.A_PTS);
+        assertEquals(2, p.B_PTS);
+        assertEquals(1, p.C_PTS);
+        assertEquals(3, p.D_PTS);
+        assertEquals(1, p.E_PTS);
+        assertEquals(4, p.F_PTS);
+        assertEquals(5, p.G_PTS);
+        assertEquals(-1.5, p.LENGTH2);
+        assertEquals(0.5, p.RADIUS2);
+        assertEquals(7, p.AREA2);
+
+        for (int i = 0; i < PUM.PUM_SIZE; i++)
+            assertEquals(i % 2 == 0, reader.puv()[i]);
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                assertEquals(LCM.Value.values()[(i + j) % 3], reader.lcm().get(i, j));
+        }
+
+        assertArrayEquals(new Point[]{new Point(0, 0), new Point(1.25, -2), new Point(-0.0, 0.001)},
+                reader.points().toPoints());
+    }
+
+    // The rows of an LCM where LCM[i][j] is ANDD, ORR or NOTUSED by (i + j) % 3.
+    private static String lcmRows() {
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                rows.append(LCM.Value.values()[(i + j) % 3]).append(j < LCM.LCM_SIZE - 1 ? " " : "\n");
+        }
+        return rows.toString();
+    }
+
+    private static InputStream stream(String input) {
+        return new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,388 @@
+package decide;
+
+import decide.core.CMV;
+import decide.core.FUV;
+import decide.core.LCM;
+import decide.core.PUM;
+import decide.core.Parameters;
+import decide.core.Point;
+import decide.server.DecisionExecutor;
+import decide.server.DecisionServer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecisionServerTest {
+
+    /**
+     * Test that many requests sent on one connection without waiting for the replies are all answered in the order
+     * of the requests, with the same decision, CMV, PUM and FUV as computed directly, even though the requests finish
+     * in another order. There are more requests than the server decides at once for one connection, so it has to stop
+     * reading and resume.
+     */
+    @Test
+    @DisplayName("Pipelined requests")
+    void pipelinedRequestsTest() throws Exception {
+        Random random = new Random(24);
+        int count = 2000;
+        String[] requests = new String[count];
+        String[] expected = new String[count];
+        for (int i = 0; i < count; i++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters parameters = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+            requests[i] = request(parameters, lcm, puv, points);
+            expected[i] = reply(parameters, lcm, puv, points);
+        }
+
+        // Each request is decided on its own thread after a random delay, so later requests often finish first. The
+        // first request takes long enough that the other requests pile up behind it.
+        AtomicInteger submitted = new AtomicInteger();
+        Executor shuffling = task -> {
+            long delay = submitted.getAndIncrement() == 0 ? 2000 : random.nextInt(5);
+            new Thread(() -> {
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                task.run();
+            }).start();
+        };
+
+        try (DecisionServer server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), shuffling);
+             SocketChannel client = SocketChannel.open(server.address())) {
+            // The requests are sent while the replies are received, since the server stops reading when it is behind.
+            Thread sender = new Thread(() -> {
+                try {
+                    for (String request : requests)
+                        send(client, request);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            sender.start();
+            for (int i = 0; i < count; i++)
+                assertEquals(expected[i], receive(client), "request " + i);
+            sender.join();
+        }
+    }
+
+    /**
+     * Test that pipelined requests on several connections are all answered in order by a decision executor that only
+     * has room for a few of them, so that the connections are refused and resumed over and over.
+     */
+    @Test
+    @DisplayName("Pipelined requests on a small decision executor")
+    void smallDecisionExecutorTest() throws Exception {
+        Random random = new Random(29);
+        int count = 300;
+        String[] requests = new String[count];
+        String[] expected = new String[count];
+        for (int i = 0; i < count; i++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters parameters = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+            requests[i] = request(parameters, lcm, puv, points);
+            expected[i] = reply(parameters, lcm, puv, points);
+        }
+        DecisionExecutor executor = new DecisionExecutor(2, 3);
+
+        try (DecisionServer server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor)) {
+            Thread[] clients = new Thread[3];
+            AtomicInteger answered = new AtomicInteger();
+            for (int c = 0; c < clients.length; c++) {
+                clients[c] = new Thread(() -> {
+                    try (SocketChannel client = SocketChannel.open(server.address())) {
+                        for (String request : requests)
+                            send(client, request);
+                        for (int i = 0; i < count; i++) {
+                            if (expected[i].equals(receive(client)))
+                                answered.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                clients[c].start();
+            }
+            for (Thread client : clients)
+                client.join();
+            assertEquals(clients.length * count, answered.get());
+        } finally {
+            executor.close();
+        }
+        assertEquals(3L * count, executor.latencies().count());
+    }
+
+    /**
+     * Test that a full decision executor only stops the connections that have requests for it, while the server keeps
+     * serving the others, and that the stopped connections are answered once the executor has room.
+     */
+    @Test
+    @DisplayName("Full decision executor")
+    void fullDecisionExecutorTest() throws Exception {
+        Random random = new Random(30);
+        Parameters parameters = TestInputs.parameters(random, 10);
+        Point[] points = TestInputs.points(random, 10);
+        LCM lcm = TestInputs.lcm(random);
+        boolean[] puv = TestInputs.puv(random);
+        DecisionExecutor executor = new DecisionExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (DecisionServer server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+             SocketChannel waiting = SocketChannel.open(server.address());
+             SocketChannel broken = SocketChannel.open(server.address())) {
+            // The executor has to get room before the server is closed, which waits for the thread that runs it.
+            try {
+                send(waiting, request(parameters, lcm, puv, points));
+                // An invalid frame length closes the connection, which needs the server but not the executor.
+                broken.write(ByteBuffer.allocate(Integer.BYTES).putInt(-1).flip());
+                int read = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return broken.read(ByteBuffer.allocate(1));
+                    } catch (IOException e) {
+                        return -1;
+                    }
+                }).get(10, TimeUnit.SECONDS);
+                assertEquals(-1, read);
+            } finally {
+                release.countDown();
+            }
+            assertEquals(reply(parameters, lcm, puv, points), receive(waiting));
+        } finally {
+            executor.close();
+        }
+    }
+
+    /**
+     * Test that a malformed or invalid request is answered with an error, and that the connection can still be used.
+     */
+    @Test
+    @DisplayName("Malformed requests")
+    void malformedRequestsTest() throws Exception {
+        Random random = new Random(25);
+        Parameters parameters = TestInputs.parameters(random, 10);
+        Point[] points = TestInputs.points(random, 10);
+        LCM lcm = TestInputs.lcm(random);
+        boolean[] puv = TestInputs.puv(random);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (DecisionServer server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+             SocketChannel client = SocketChannel.open(server.address())) {
+            send(client, "LENGTH1 x POINTS 0");
+            send(client, "");
+            send(client, "N_PTS 0 POINTS 1 0 0");
+            send(client, request(parameters, lcm, puv, points));
+
+            assertTrue(receive(client).startsWith("ERROR Line 1: expected a number but found x."));
+            assertTrue(receive(client).startsWith("ERROR "));
+            assertTrue(receive(client).startsWith("ERROR "));
+            assertEquals(reply(parameters, lcm, puv, points), receive(client));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that a short request with a huge number of points is answered with an error about the missing points,
+     * instead of allocating the coordinates of all of them, and that the connection can still be used.
+     */
+    @Test
+    @DisplayName("Oversized point count")
+    void oversizedPointCountTest() throws Exception {
+        Random random = new Random(27);
+        Parameters parameters = TestInputs.parameters(random, 10);
+        Point[] points = TestInputs.points(random, 10);
+        LCM lcm = TestInputs.lcm(random);
+        boolean[] puv = TestInputs.puv(random);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try (DecisionServer server = start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), executor);
+             SocketChannel client = SocketChannel.open(server.address())) {
+            send(client, "POINTS 2000000000 0 0 1 1");
+            send(client, request(parameters, lcm, puv, points));
+
+            assertEquals("ERROR Line 1: expected a number but the input ended.\n", receive(client));
+            assertEquals(reply(parameters, lcm, puv, points), receive(client));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Test that the server answers requests over a Unix-domain socket, and removes the socket file when it is closed.
+     */
+    @Test
+    @DisplayName("Unix-domain socket")
+    void unixDomainSocketTest() throws Exception {
+        Random random = new Random(26);
+        Parameters parameters = TestInputs.parameters(random, 50);
+        Point[] points = TestInputs.points(random, 50);
+        LCM lcm = TestInputs.lcm(random);
+        boolean[] puv = TestInputs.puv(random);
+        Path path = Files.createTempDirectory("decide").resolve("decide.sock");
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (DecisionServer server = start(UnixDomainSocketAddress.of(path), executor);
+             SocketChannel client = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            client.connect(server.address());
+            send(client, request(parameters, lcm, puv, points));
+            assertEquals(reply(parameters, lcm, puv, points), receive(client));
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(Files.exists(path));
+        Files.delete(path.getParent());
+    }
+
+    /**
+     * Test that a socket file that a killed server left behind is replaced, but that the socket of a running server
+     * is not.
+     */
+    @Test
+    @DisplayName("Stale Unix-domain socket")
+    void staleUnixDomainSocketTest() throws Exception {
+        Random random = new Random(28);
+        Parameters parameters = TestInputs.parameters(random, 20);
+        Point[] points = TestInputs.points(random, 20);
+        LCM lcm = TestInputs.lcm(random);
+        boolean[] puv = TestInputs.puv(random);
+        Path path = Files.createTempDirectory("decide").resolve("decide.sock");
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(path);
+        // Closing a channel does not remove its socket file, just like a server that was killed.
+        ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(address).close();
+        assertTrue(Files.exists(path));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (DecisionServer server = start(address, executor);
+             SocketChannel client = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            assertThrows(BindException.class, () -> new DecisionServer(address, executor));
+            client.connect(server.address());
+            send(client, request(parameters, lcm, puv, points));
+            assertEquals(reply(parameters, lcm, puv, points), receive(client));
+        } finally {
+            executor.shutdown();
+        }
+        assertFalse(Files.exists(path));
+        Files.delete(path.getParent());
+    }
+
+    // Starts a server on its own thread.
+    private static DecisionServer start(SocketAddress address, Executor executor) throws IOException {
+        DecisionServer server = new DecisionServer(address, executor);
+        Thread thread = new Thread(() -> {
+            try {
+                server.run();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return server;
+    }
+
+    private static void send(SocketChannel client, String request) throws IOException {
+        byte[] bytes = request.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + bytes.length);
+        frame.putInt(bytes.length).put(bytes).flip();
+        while (frame.hasRemaining())
+            client.write(frame);
+    }
+
+    private static String receive(SocketChannel client) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(client, length);
+        ByteBuffer reply = ByteBuffer.allocate(length.getInt(0));
+        readFully(client, reply);
+        return new String(reply.array(), StandardCharsets.US_ASCII);
+    }
+
+    private static void readFully(SocketChannel client, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0)
+                throw new IOException("The server closed the connection.");
+        }
+    }
+
+    // Writes a decision case in the text format of DecisionReader.
+    private static String request(Parameters p, LCM lcm, boolean[] puv, Point[] points) {
+        StringBuilder request = new StringBuilder();
+        request.append("LENGTH1 ").append(p.LENGTH1).append(" RADIUS1 ").append(p.RADIUS1)
+                .append(" EPSILON ").append(p.EPSILON).append(" AREA1 ").append(p.AREA1)
+                .append(" Q_PTS ").append(p.Q_PTS).append(" QUADS ").append(p.QUADS)
+                .append(" DIST ").append(p.DIST).append(" N_PTS ").append(p.N_PTS)
+                .append(" K_PTS ").append(p.K_PTS).append(" A_PTS ").append(p.A_PTS)
+                .append(" B_PTS ").append(p.B_PTS).append(" C_PTS ").append(p.C_PTS)
+                .append(" D_PTS ").append(p.D_PTS).append(" E_PTS ").append(p.E_PTS)
+                .append(" F_PTS ").append(p.F_PTS).append(" G_PTS ").append(p.G_PTS)
+                .append(" LENGTH2 ").append(p.LENGTH2).append(" RADIUS2 ").append(p.RADIUS2)
+                .append(" AREA2 ").append(p.AREA2).append("\nLCM\n");
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++)
+                request.append(lcm.get(i, j)).append(j < LCM.LCM_SIZE - 1 ? ' ' : '\n');
+        }
+        request.append("PUV");
+        for (boolean value : puv)
+            request.append(' ').append(value);
+        request.append("\nPOINTS ").append(points.length).append('\n');
+        for (Point point : points)
+            request.append(point.x).append(' ').append(point.y).append('\n');
+        return request.toString();
+    }
+
+    // The reply that the server should send for a decision case.
+    private static String reply(Parameters parameters, LCM lcm, boolean[] puv, Point[] points) {
+        CMV cmv = new CMV(parameters, points);
+        PUM pum = new PUM(lcm, cmv);
+        FUV fuv = new FUV(puv, pum);
+        StringBuilder reply = new StringBuilder(fuv.canLaunch() ? "YES" : "NO").append("\nCMV ");
+        for (int i = 0; i < CMV.CMV_SIZE; i++)
+            reply.append(cmv.get(i) ? 1 : 0);
+        reply.append("\nPUM");
+        for (int i = 0; i < PUM.PUM_SIZE; i++) {
+            reply.append(' ');
+            for (boolean value : pum.get(i))
+                reply.append(value ? 1 : 0);
+        }
+        reply.append("\nFUV ");
+        for (int i = 0; i < PUM.PUM_SIZE; i++)
+            reply.append(fuv.get(i) ? 1 : 0);
+        return reply.append('\n').toString();
+    }
+}
@@ -0,0 +1,162 @@
+package decide;
+
+import decide.core.Geometry;
+import decide.core.Point;
+import decide.core.Triangle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static java.lang.Math.PI;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeometryTest {
+
+    /**
+     * Test that the shoelace area agrees with Heron's formula, which was used before, to within a relative error
+     * that is far below the precision of the parameters.
+     */
+    @Test
+    @DisplayName("Shoelace area matches Heron's formula")
+    void areaMatchesHeronTest() {
+        Random random = new Random(12);
+        for (int run = 0; run < 20000; run++) {
+            Point p1 = new Point(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100);
+            Point p2 = new Point(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100);
+            Point p3 = new Point(random.nextDouble() * 200 - 100, random.nextDouble() * 200 - 100);
+
+            double heron = heronArea(p1, p2, p3);
+            assertEquals(heron, Triangle.area(p1, p2, p3), 1e-9 * Math.max(1, heron));
+        }
+
+        // On a grid the shoelace area is exact.
+        for (int run = 0; run < 20000; run++) {
+            Point p1 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            Point p2 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            Point p3 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+
+            // Heron's formula gives NaN or a tiny area instead of 0 for some collinear points.
+            double heron = heronArea(p1, p2, p3);
+            if (Double.isNaN(heron))
+                continue;
+            assertEquals(heron, Triangle.area(p1, p2, p3), 1e-6);
+        }
+    }
+
+    /**
+     * Test that the area of a degenerate triangle is 0, where Heron's formula can give NaN or a tiny positive area
+     * depending on rounding.
+     */
+    @Test
+    @DisplayName("Area of degenerate triangles")
+    void degenerateAreaTest() {
+        assertEquals(0, Triangle.area(new Point(0, 0), new Point(0, 1), new Point(0, 3)));
+        assertEquals(0, Triangle.area(new Point(0.1, 0.1), new Point(0.2, 0.2), new Point(0.3, 0.3)), 1e-17);
+        assertEquals(0, Triangle.area(new Point(1, 1), new Point(1, 1), new Point(2, 5)));
+        assertEquals(0, Geometry.triangleArea(3, 3, 3, 3, 3, 3));
+    }
+
+    /**
+     * Test that comparing the cosine of the angle with cos(PI - EPSILON) gives the same answers as computing the angle
+     * with the law of cosines and arc cosine, skipping the cases that are decided by rounding at the boundary.
+     */
+    @Test
+    @DisplayName("Angle check matches arc cosine")
+    void angleMatchesArcCosineTest() {
+        Random random = new Random(13);
+        double[] epsilons = {0, 1e-6, 0.1, PI / 4, PI / 2, 2, 3, PI - 1e-6};
+
+        int checked = 0;
+        for (int run = 0; run < 40000; run++) {
+            Point p1, vertex, p3;
+            if (run % 2 == 0) {
+                p1 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+                vertex = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+                p3 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            } else {
+                p1 = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+                vertex = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+                p3 = new Point(random.nextDouble() * 20 - 10, random.nextDouble() * 20 - 10);
+            }
+            if (p1.equals(vertex) || p3.equals(vertex))
+                continue;
+            double epsilon = epsilons[random.nextInt(epsilons.length)];
+
+            // The arc cosine is NaN when rounding takes its argument outside [-1, 1].
+            double angle = arcCosineAngle(p1, vertex, p3);
+            if (Double.isNaN(angle) || Math.abs(angle - (PI - epsilon)) < 1e-6)
+                continue;
+
+            boolean expected = angle < PI - epsilon || angle > PI + epsilon;
+            assertEquals(expected, Geometry.angleLessThan(p1.x, p1.y, vertex.x, vertex.y, p3.x, p3.y,
+                    Geometry.angleLimit(epsilon)));
+            checked++;
+        }
+        assertTrue(checked > 30000);
+    }
+
+    /**
+     * Test the angle check at the boundaries, where the arc cosine depends on rounding: straight angles are never
+     * less than PI, right angles are exactly at the limit for EPSILON = PI / 2, and coincident points are undefined.
+     */
+    @Test
+    @DisplayName("Angle check at the boundaries")
+    void angleBoundaryTest() {
+        double straight = Geometry.angleLimit(0);
+        assertFalse(Geometry.angleLessThan(0, 0, 1, 1, 2, 2, straight));
+        assertFalse(Geometry.angleLessThan(0, 0, 0, 1, 0, 3, straight));
+        assertTrue(Geometry.angleLessThan(0, 0, 0, 1, 1e-3, 3, straight));
+
+        assertTrue(Geometry.angleLessThan(1, 0, 0, 0, 1, 1, Geometry.angleLimit(PI / 2)));
+        assertFalse(Geometry.angleLessThan(1, 0, 0, 0, -1, 1, Geometry.angleLimit(PI / 2)));
+
+        assertFalse(Geometry.angleLessThan(0, 0, 0, 0, 1, 1, Geometry.angleLimit(1)));
+        assertFalse(Geometry.angleLessThan(1, 1, 0, 0, 0, 0, Geometry.angleLimit(1)));
+
+        // Coordinates whose squares overflow still give the right answer.
+        assertTrue(Geometry.angleLessThan(1e200, 0, 0, 0, 0, 1e200, Geometry.angleLimit(0.1)));
+        assertFalse(Geometry.angleLessThan(-1e200, 0, 0, 0, 1e200, 1, Geometry.angleLimit(0.1)));
+    }
+
+    /**
+     * Test that the non-throwing angle is NaN exactly when the throwing angle throws, and otherwise the same angle.
+     */
+    @Test
+    @DisplayName("Undefined angle is NaN")
+    void undefinedAngleIsNaNTest() throws Point.UndefinedAngleException {
+        Point p = new Point(1, 1);
+        assertTrue(Double.isNaN(Point.vertexAngleOrNaN(p, p, new Point(0, 0))));
+        assertTrue(Double.isNaN(Point.vertexAngleOrNaN(new Point(0, 0), p, p)));
+        assertTrue(Double.isNaN(Point.vertexAngleOrNaN(p, p, p)));
+        assertThrows(Point.UndefinedAngleException.class, () -> Point.vertexAngle(p, p, new Point(0, 0)));
+
+        Random random = new Random(14);
+        for (int run = 0; run < 1000; run++) {
+            Point p1 = new Point(random.nextInt(5), random.nextInt(5));
+            Point vertex = new Point(random.nextInt(5), random.nextInt(5));
+            Point p2 = new Point(random.nextInt(5), random.nextInt(5));
+            if (p1.equals(vertex) || p2.equals(vertex))
+                continue;
+            assertEquals(Point.vertexAngle(p1, vertex, p2), Point.vertexAngleOrNaN(p1, vertex, p2));
+        }
+    }
+
+    // Heron's formula, which Triangle.area used before.
+    private static double heronArea(Point p1, Point p2, Point p3) {
+        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3))
+            return 0;
+        double a = p1.distance(p2);
+        double b = p1.distance(p3);
+        double c = p2.distance(p3);
+        return 0.25 * Math.sqrt((a + b + c) * (-a + b + c) * (a - b + c) * (a + b - c));
+    }
+
+    // The law of cosines and arc cosine, which the angle checks of LICs 2 and 9 used before.
+    private static double arcCosineAngle(Point p1, Point vertex, Point p3) {
+        double a = p1.distance(vertex);
+        double b = p3.distance(vertex);
+        double c = p1.distance(p3);
+        return Math.acos((a * a + b * b - c * c) / (2 * a * b));
+    }
+}
@@ -0,0 +1,86 @@
+package decide;
+
+import decide.core.CMV;
+import decide.core.IncrementalCMV;
+import decide.core.Parameters;
+import decide.core.Point;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalCMVTest {
+
+    /**
+     * Test that after every append and eviction the incremental CMV is the same as a CMV computed from scratch
+     * from the points in the buffer.
+     */
+    @Test
+    @DisplayName("Incremental CMV matches CMV")
+    void matchesCMVTest() {
+        Random random = new Random(5);
+        for (int run = 0; run < 200; run++) {
+            int capacity = 5 + random.nextInt(30);
+            Parameters parameters = TestInputs.parameters(random, capacity);
+            Point[] stream = TestInputs.points(random, 100);
+
+            IncrementalCMV incremental = new IncrementalCMV(parameters, capacity);
+            Deque<Point> buffer = new ArrayDeque<>();
+
+            for (Point point : stream) {
+                if (!buffer.isEmpty() && random.nextInt(4) == 0) {
+                    incremental.evict();
+                    buffer.removeFirst();
+                } else {
+                    incremental.append(point);
+                    if (buffer.size() == capacity)
+                        buffer.removeFirst();
+                    buffer.addLast(point);
+                }
+
+                assertEquals(buffer.size(), incremental.size());
+                CMV cmv = new CMV(parameters, buffer.toArray(new Point[0]));
+                for (int i = 0; i < CMV.CMV_SIZE; i++)
+                    assertEquals(cmv.get(i), incremental.get(i), "LIC " + i);
+            }
+        }
+    }
+
+    /**
+     * Test that a LIC becomes false again when the only window that satisfies it is evicted.
+     */
+    @Test
+    @DisplayName("Evicted window no longer satisfies LIC")
+    void evictedWindowTest() {
+        Parameters parameters = TestInputs.parameters(new Random(6), 5);
+        parameters.LENGTH1 = 1;
+
+        IncrementalCMV incremental = new IncrementalCMV(parameters, 3);
+        incremental.append(new Point(0, 0));
+        incremental.append(new Point(5, 0));
+        incremental.append(new Point(5, 0));
+
+        // The first two points are further than LENGTH1 apart.
+        assertTrue(incremental.get(0));
+
+        incremental.append(new Point(5, 0));
+
+        // Appending to a full buffer evicted the point at the origin.
+        assertEquals(3, incremental.size());
+        assertFalse(incremental.get(0));
+    }
+
+    /**
+     * Test that evicting from an empty buffer throws an exception.
+     */
+    @Test
+    @DisplayName("Evict from empty buffer")
+    void evictEmptyTest() {
+        IncrementalCMV incremental = new IncrementalCMV(TestInputs.parameters(new Random(7), 5), 10);
+        assertThrows(IllegalStateException.class, incremental::evict);
+    }
+}
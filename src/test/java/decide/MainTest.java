@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -442,4 +443,171 @@ public class MainTest {
 
         assertFalse(fuv.canLaunch());
     }
+
+    /**
+     * Check that the launch decision is the same when only the LICs that the LCM and the PUV refer to are computed,
+     * and that the other LICs are never computed.
+     */
+    @Test
+    @DisplayName("Lazy launch decision")
+    void lazyLaunchDecisionTest() {
+        Random random = new Random(8);
+        for (int run = 0; run < 1000; run++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters params = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+
+            CMV eagerCMV = new CMV(params, points);
+            FUV eagerFUV = new FUV(puv, new PUM(lcm, eagerCMV));
+
+            CMV lazyCMV = CMV.lazy(params, points);
+            FUV lazyFUV = new FUV(puv, new PUM(lcm, lazyCMV, puv));
+
+            assertEquals(eagerFUV.canLaunch(), lazyFUV.canLaunch());
+            for (int i = 0; i < PUM.PUM_SIZE; i++)
+                assertEquals(eagerFUV.get(i), lazyFUV.get(i));
+
+            boolean[] referenced = PUM.referencedLICs(lcm, puv);
+            for (int i = 0; i < CMV.CMV_SIZE; i++) {
+                if (!referenced[i])
+                    assertFalse(lazyCMV.isComputed(i));
+            }
+        }
+    }
+
+    /**
+     * Check that the decision engine, which stops as soon as the decision is known, makes the same launch decision
+     * as computing the whole CMV, PUM and FUV. The same engine is reused so that its cost measurements change the
+     * order in which it computes the LICs.
+     */
+    @Test
+    @DisplayName("Decision engine launch decision")
+    void decisionEngineTest() {
+        Random random = new Random(9);
+        for (int config = 0; config < 50; config++) {
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+            DecisionEngine engine = new DecisionEngine(lcm, puv);
+
+            for (int run = 0; run < 50; run++) {
+                int numPoints = 5 + random.nextInt(96);
+                Parameters params = TestInputs.parameters(random, numPoints);
+                Point[] points = TestInputs.points(random, numPoints);
+
+                FUV fuv = new FUV(puv, new PUM(lcm, new CMV(params, points)));
+
+                assertEquals(fuv.canLaunch(), engine.decide(params, points));
+            }
+        }
+    }
+
+    /**
+     * Check that every entry of the packed PUM follows the rules in section 2.2 of the specification,
+     * and that the FUV is computed from the rows of the PUM as before.
+     */
+    @Test
+    @DisplayName("Packed PUM and FUV")
+    void packedPUMTest() {
+        Random random = new Random(10);
+        for (int run = 0; run < 1000; run++) {
+            int numPoints = 5 + random.nextInt(96);
+            Parameters params = TestInputs.parameters(random, numPoints);
+            CMV cmv = new CMV(params, TestInputs.points(random, numPoints));
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+
+            PUM pum = new PUM(lcm, cmv);
+            boolean launch = true;
+            for (int i = 0; i < PUM.PUM_SIZE; i++) {
+                boolean[] row = pum.get(i);
+                boolean rowTrue = true;
+                for (int j = 0; j < PUM.PUM_SIZE; j++) {
+                    boolean expected;
+                    switch (lcm.get(i, j)) {
+                        case ANDD:
+                            expected = cmv.get(i) && cmv.get(j);
+                            break;
+                        case ORR:
+                            expected = cmv.get(i) || cmv.get(j);
+                            break;
+                        default:
+                            expected = true;
+                    }
+                    assertEquals(expected, pum.get(i, j));
+                    assertEquals(expected, row[j]);
+                    if (i != j && !expected)
+                        rowTrue = false;
+                }
+
+                FUV fuv = new FUV(puv, pum);
+                assertEquals(!puv[i] || rowTrue, fuv.get(i));
+                launch &= !puv[i] || rowTrue;
+            }
+            assertEquals(launch, new FUV(puv, pum).canLaunch());
+        }
+    }
+
+    /**
+     * Check that a compiled decision plan makes the same launch decision as computing the whole CMV, PUM and FUV,
+     * both for every possible CMV and for random points, and that it only computes the LICs that it refers to.
+     */
+    @Test
+    @DisplayName("Decision plan launch decision")
+    void decisionPlanTest() {
+        Random random = new Random(11);
+        for (int config = 0; config < 20; config++) {
+            LCM lcm = TestInputs.lcm(random);
+            boolean[] puv = TestInputs.puv(random);
+            DecisionPlan plan = new DecisionPlan(lcm, puv);
+
+            for (int run = 0; run < 50; run++) {
+                int numPoints = 5 + random.nextInt(96);
+                Parameters params = TestInputs.parameters(random, numPoints);
+                Point[] points = TestInputs.points(random, numPoints);
+
+                CMV cmv = new CMV(params, points);
+                FUV fuv = new FUV(puv, new PUM(lcm, cmv));
+                assertEquals(fuv.canLaunch(), plan.decide(cmv.mask()));
+                assertEquals(fuv.canLaunch(), plan.decide(params, points));
+
+                CMV lazy = CMV.lazy(params, points);
+                plan.decide(lazy);
+                for (int i = 0; i < CMV.CMV_SIZE; i++)
+                    assertEquals((plan.referencedLICs() & (1 << i)) != 0, lazy.isComputed(i));
+            }
+        }
+    }
+
+    /**
+     * Check that the PUM, a decision plan and a decision engine all reject an LCM where an entry has not been set,
+     * even in a row that the PUV leaves out.
+     */
+    @Test
+    @DisplayName("Incomplete LCM")
+    void incompleteLCMTest() {
+        Random random = new Random(12);
+        Parameters params = TestInputs.parameters(random, 10);
+        Point[] points = TestInputs.points(random, 10);
+        CMV cmv = new CMV(params, points);
+
+        for (boolean used : new boolean[]{true, false}) {
+            LCM lcm = new LCM();
+            for (int i = 0; i < LCM.LCM_SIZE; i++) {
+                for (int j = 0; j < LCM.LCM_SIZE; j++) {
+                    if (i != 3 || j != 5)
+                        lcm.set(i, j, LCM.Value.ORR);
+                }
+            }
+            boolean[] puv = new boolean[PUM.PUM_SIZE];
+            Arrays.fill(puv, true);
+            puv[3] = used;
+
+            assertThrows(IllegalStateException.class, () -> new PUM(lcm, cmv));
+            assertThrows(IllegalStateException.class, () -> new PUM(lcm, cmv, puv));
+            assertThrows(IllegalStateException.class, () -> new DecisionPlan(lcm, puv));
+            assertThrows(IllegalStateException.class, () -> new DecisionEngine(lcm, puv));
+        }
+    }
 }
@@ -0,0 +1,206 @@
+package decide;
+
+import decide.core.MathTools;
+import decide.core.Point;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static java.lang.Math.pow;
+import static java.lang.Math.sqrt;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MathToolsTest {
+
+    /**
+     * Test that three points on a line are covered by the circle that has the two outer points as its diameter.
+     */
+    @Test
+    @DisplayName("Collinear points covered by circle")
+    void collinearPointsCoveredTest() {
+        Point p1 = new Point(0, 0);
+        Point p2 = new Point(1, 0);
+        Point p3 = new Point(2, 0);
+
+        assertTrue(MathTools.pointsAreCoveredByCircle(p1, p2, p3, 1));
+        assertFalse(MathTools.pointsAreCoveredByCircle(p1, p2, p3, 0.99));
+    }
+
+    /**
+     * Test that the points of an equilateral triangle are covered by the circumscribed circle but not by a smaller one.
+     */
+    @Test
+    @DisplayName("Acute triangle covered by circumscribed circle")
+    void acuteTriangleCoveredTest() {
+        // The circumradius of an equilateral triangle with side length 1 is 1 / sqrt(3).
+        Point p1 = new Point(0, 0);
+        Point p2 = new Point(1, 0);
+        Point p3 = new Point(0.5, Math.sqrt(3) / 2);
+
+        assertTrue(MathTools.pointsAreCoveredByCircle(p1, p2, p3, 1 / Math.sqrt(3) + 1e-12));
+        assertFalse(MathTools.pointsAreCoveredByCircle(p1, p2, p3, 1 / Math.sqrt(3) - 1e-12));
+    }
+
+    /**
+     * Test that coincident points are covered by a circle of radius 0 only when all three points are the same.
+     */
+    @Test
+    @DisplayName("Coincident points covered by circle")
+    void coincidentPointsCoveredTest() {
+        Point p = new Point(1, 1);
+
+        assertTrue(MathTools.pointsAreCoveredByCircle(p, p, p, 0));
+        assertTrue(MathTools.pointsAreCoveredByCircle(p, p, new Point(3, 1), 1));
+        assertFalse(MathTools.pointsAreCoveredByCircle(p, new Point(3, 1), p, 0.5));
+    }
+
+    /**
+     * Test that the smallest enclosing circle is the circumscribed circle of an acute triangle and has the longest
+     * side as its diameter otherwise.
+     */
+    @Test
+    @DisplayName("Minimum enclosing radius")
+    void minimumEnclosingRadiusTest() {
+        Point origin = new Point(0, 0);
+
+        // A 3-4-5 right triangle, where the hypotenuse is the diameter.
+        assertEquals(2.5, MathTools.minimumEnclosingRadius(origin, new Point(3, 0), new Point(0, 4)));
+        // An obtuse triangle, where the longest side is the diameter.
+        assertEquals(2, MathTools.minimumEnclosingRadius(origin, new Point(4, 0), new Point(1, 1)));
+        // An acute triangle with the circumradius R = abc / (4 * area) = sqrt(5) * sqrt(5) * 2 / 8.
+        assertEquals(1.25, MathTools.minimumEnclosingRadius(origin, new Point(2, 0), new Point(1, 2)), 1e-12);
+        // Coincident points.
+        assertEquals(1.5, MathTools.minimumEnclosingRadius(origin, origin, new Point(0, 3)));
+        assertEquals(0, MathTools.minimumEnclosingRadius(origin, origin, origin));
+    }
+
+    /**
+     * Test that the closed-form circle check gives the same answers as the original implementation, which
+     * constructed the candidate circles through every pair of points.
+     */
+    @Test
+    @DisplayName("Circle check matches original implementation")
+    void matchesOriginalImplementationTest() {
+        Random random = new Random(4);
+        double[] radii = {0, 0.5, 1, Math.sqrt(2), 1.5, 2, 2.5, Math.sqrt(8), 3, 5};
+
+        // Points on a small grid, where coincident points, collinear points, right angles and exact boundaries are common.
+        for (int run = 0; run < 20000; run++) {
+            Point p1 = new Point(random.nextInt(5) - 2, random.nextInt(5) - 2);
+            Point p2 = new Point(random.nextInt(5) - 2, random.nextInt(5) - 2);
+            Point p3 = new Point(random.nextInt(5) - 2, random.nextInt(5) - 2);
+            double radius = radii[random.nextInt(radii.length)];
+
+            assertEquals(originalPointsAreCoveredByCircle(p1, p2, p3, radius),
+                    MathTools.pointsAreCoveredByCircle(p1, p2, p3, radius));
+        }
+
+        // Points anywhere in a square, skipping the cases that are decided by rounding at the boundary.
+        for (int run = 0; run < 20000; run++) {
+            Point p1 = new Point(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5);
+            Point p2 = new Point(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5);
+            Point p3 = new Point(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5);
+            double radius = random.nextDouble() * 8;
+
+            boolean expected = originalPointsAreCoveredByCircle(p1, p2, p3, radius);
+            if (expected != originalPointsAreCoveredByCircle(p1, p2, p3, radius * (1 + 1e-9)) ||
+                    expected != originalPointsAreCoveredByCircle(p1, p2, p3, radius * (1 - 1e-9)))
+                continue;
+
+            assertEquals(expected, MathTools.pointsAreCoveredByCircle(p1, p2, p3, radius));
+        }
+    }
+
+    /**
+     * Test that comparing squared lengths gives the same answers as comparing the square root of them, both for exact
+     * lengths on a grid, for random lengths away from the boundary and for the edge cases of the float format.
+     */
+    @Test
+    @DisplayName("Squared length comparisons match square root")
+    void squaredLengthComparisonsTest() {
+        Random random = new Random(11);
+        // Bounds with an exact square, since a bound such as sqrt(2) is itself rounded and is then a boundary case.
+        double[] bounds = {0, 1, 1.5, 2, 2.5, 3, 5};
+
+        for (int run = 0; run < 20000; run++) {
+            Point p1 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            Point p2 = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            double bound = bounds[random.nextInt(bounds.length)];
+            assertLengthComparisons(p1.squaredDistance(p2), bound);
+        }
+
+        for (int run = 0; run < 20000; run++) {
+            double squaredLength = random.nextDouble() * 100;
+            double bound = random.nextDouble() * 10;
+            if (Math.abs(sqrt(squaredLength) - bound) < 1e-9)
+                continue;
+            assertLengthComparisons(squaredLength, bound);
+        }
+
+        double[] edgeCases = {0, -0.0, -1, Double.MIN_VALUE, Double.MIN_NORMAL, 1e-160, 1e-300, 1e160, 1e300,
+                Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN};
+        for (double squaredLength : edgeCases) {
+            if (squaredLength < 0)
+                continue;
+            for (double bound : edgeCases)
+                assertLengthComparisons(squaredLength, bound);
+        }
+    }
+
+    private static void assertLengthComparisons(double squaredLength, double bound) {
+        double length = sqrt(squaredLength);
+        assertEquals(length > bound, MathTools.lengthGreaterThan(squaredLength, bound));
+        assertEquals(length < bound, MathTools.lengthLessThan(squaredLength, bound));
+        assertEquals(length <= bound, MathTools.lengthAtMost(squaredLength, bound));
+    }
+
+    // The original implementation of MathTools.pointsAreCoveredByCircle, kept as the reference.
+    private static boolean originalPointsAreCoveredByCircle(Point p1, Point p2, Point p3, double radius) {
+        if (p1.equals(p2) && p1.equals(p3) && p2.equals(p3)) {
+            return true;
+        }
+        if (p1.equals(p2) || p1.equals(p3) || p2.equals(p3)) {
+            Point coincide;
+            Point remaining;
+            if (p1.equals(p2)) {
+                coincide = p1;
+                remaining = p3;
+            } else if (p1.equals(p3)) {
+                coincide = p1;
+                remaining = p2;
+            } else {
+                coincide = p2;
+                remaining = p1;
+            }
+            return Point.euclidianDistanceBetween(coincide, remaining) <= 2 * radius;
+        }
+
+        List<Point.Pair> pairs = new ArrayList<>();
+        for (Point focus : focuses(p1, p2, radius))
+            pairs.add(new Point.Pair(focus, p3));
+        for (Point focus : focuses(p2, p3, radius))
+            pairs.add(new Point.Pair(focus, p1));
+        for (Point focus : focuses(p3, p1, radius))
+            pairs.add(new Point.Pair(focus, p2));
+
+        for (Point.Pair pair : pairs) {
+            if (Point.euclidianDistanceBetween(pair.getFirst(), pair.getSecond()) <= radius)
+                return true;
+        }
+        return false;
+    }
+
+    // The two centers of the circles with the given radius that pass through x and y.
+    private static List<Point> focuses(Point x, Point y, double radius) {
+        double distanceBetweenXY = Point.euclidianDistanceBetween(x, y);
+        Point pointBetweenXY = Point.createPointBetween(x, y);
+        double[] normVector = {(x.y - y.y) / distanceBetweenXY, (y.x - x.x) / distanceBetweenXY};
+        double distanceToFocus = sqrt(pow(radius, 2) - pow(distanceBetweenXY / 2, 2));
+        return List.of(
+                new Point(pointBetweenXY.x + distanceToFocus * normVector[0], pointBetweenXY.y + distanceToFocus * normVector[1]),
+                new Point(pointBetweenXY.x - distanceToFocus * normVector[0], pointBetweenXY.y - distanceToFocus * normVector[1]));
+    }
+}
@@ -2,6 +2,7 @@ package decide;
 
 import decide.core.Parameters;
 import decide.core.Point;
+import decide.core.PointBuffer;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -65,4 +66,36 @@ public class ParametersTest {
         points[0] = new Point(0.0, 0.0);
         assertThrows(IllegalArgumentException.class, () -> Parameters.verify(invalidParams, points));
     }
+
+    /**
+     * Test that the extended mode accepts more than 100 points, which the specification does not, but still
+     * rejects fewer than 2 points and invalid parameters.
+     */
+    @Test
+    @DisplayName("Extended parameters")
+    void extendedParametersTest() {
+        Parameters params = new Parameters();
+        params.Q_PTS = 2;
+        params.QUADS = 1;
+        params.N_PTS = 3;
+        params.K_PTS = 1;
+        params.A_PTS = 1;
+        params.B_PTS = 1;
+        params.C_PTS = 1;
+        params.D_PTS = 1;
+        params.E_PTS = 1;
+        params.F_PTS = 1;
+        params.G_PTS = 1;
+
+        Point[] points = new Point[100_000];
+        Arrays.fill(points, new Point(0.0, 0.0));
+        assertThrows(IllegalArgumentException.class, () -> Parameters.verify(params, points));
+        assertDoesNotThrow(() -> Parameters.verifyExtended(params, points));
+        assertDoesNotThrow(() -> Parameters.verifyExtended(params, PointBuffer.of(points)));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> Parameters.verifyExtended(params, new Point[] {new Point(0.0, 0.0)}));
+        params.N_PTS = 0;
+        assertThrows(IllegalArgumentException.class, () -> Parameters.verifyExtended(params, points));
+    }
 }
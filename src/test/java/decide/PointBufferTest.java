@@ -0,0 +1,88 @@
+package decide;
+
+import decide.core.CMV;
+import decide.core.Parameters;
+import decide.core.Point;
+import decide.core.PointBuffer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointBufferTest {
+
+    /**
+     * Test that a point buffer created from a vector of points contains the same points in the same order.
+     */
+    @Test
+    @DisplayName("Point buffer from points")
+    void fromPointsTest() {
+        Point[] points = {new Point(1, 2), new Point(-3, 4), new Point(5, -6)};
+
+        PointBuffer buffer = PointBuffer.of(points);
+
+        assertEquals(3, buffer.size());
+        for (int i = 0; i < points.length; i++) {
+            assertEquals(points[i].x, buffer.x(i));
+            assertEquals(points[i].y, buffer.y(i));
+            assertEquals(points[i], buffer.get(i));
+        }
+    }
+
+    /**
+     * Test that a point buffer created from coordinates can be turned into points.
+     */
+    @Test
+    @DisplayName("Point buffer from coordinates")
+    void fromCoordinatesTest() {
+        PointBuffer buffer = new PointBuffer(new double[]{0, 1}, new double[]{2, 3});
+
+        Point[] points = buffer.toPoints();
+
+        assertEquals(new Point(0, 2), points[0]);
+        assertEquals(new Point(1, 3), points[1]);
+        assertEquals(new Point(1, 3), buffer.get(1));
+    }
+
+    /**
+     * Test that the coordinate arrays must have the same length.
+     */
+    @Test
+    @DisplayName("Point buffer with mismatched coordinates")
+    void mismatchedCoordinatesTest() {
+        assertThrows(IllegalArgumentException.class, () -> new PointBuffer(new double[2], new double[3]));
+    }
+
+    /**
+     * Test that the CMV computed from a point buffer is the same as the CMV computed from the points.
+     */
+    @Test
+    @DisplayName("CMV from point buffer")
+    void cmvFromPointBufferTest() {
+        Random random = new Random(3);
+        for (int run = 0; run < 500; run++) {
+            int numPoints = 5 + random.nextInt(40);
+            Parameters parameters = TestInputs.parameters(random, numPoints);
+            Point[] points = TestInputs.points(random, numPoints);
+            PointBuffer buffer = new PointBuffer(xs(points), ys(points));
+
+            assertArrayEquals(TestInputs.toArray(new CMV(parameters, points)), TestInputs.toArray(new CMV(parameters, buffer)));
+        }
+    }
+
+    private static double[] xs(Point[] points) {
+        double[] xs = new double[points.length];
+        for (int i = 0; i < points.length; i++)
+            xs[i] = points[i].x;
+        return xs;
+    }
+
+    private static double[] ys(Point[] points) {
+        double[] ys = new double[points.length];
+        for (int i = 0; i < points.length; i++)
+            ys[i] = points[i].y;
+        return ys;
+    }
+}
@@ -0,0 +1,120 @@
+package decide;
+
+import decide.core.CMV;
+import decide.core.Parameters;
+import decide.core.Point;
+import decide.core.PointBuffer;
+import decide.io.PointFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PointFileTest {
+
+    /**
+     * Test that the points read from a point file are the points that were written, and that the CMV computed from them is the same as the CMV computed from the original points.
+     */
+    @Test
+    @DisplayName("Point file round trip")
+    void roundTripTest() throws IOException {
+        Random random = new Random(22);
+        Point[] points = TestInputs.points(random, 1000);
+        Path path = Files.createTempFile("points", ".bin");
+        try {
+            PointFile.write(path, PointBuffer.of(points));
+            assertEquals(PointFile.HEADER_SIZE + 16L * points.length, Files.size(path));
+
+            PointBuffer read = PointFile.read(path);
+
+            assertEquals(points.length, read.size());
+            assertArrayEquals(points, read.toPoints());
+            Parameters params = TestInputs.parameters(random, points.length);
+            assertEquals(new CMV(params, points).mask(), new CMV(params, read).mask());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Test that the header and the coordinates are little-endian, as in a file written by another program, and that
+     * special values such as -0.0 and NaN are kept.
+     */
+    @Test
+    @DisplayName("Point file layout")
+    void layoutTest() throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(PointFile.HEADER_SIZE + 32).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.put(new byte[]{'D', 'P', 'T', 'S'}).putInt(PointFile.VERSION).putLong(2);
+        bytes.putDouble(1.5).putDouble(-0.0).putDouble(Double.NaN).putDouble(4.25);
+        Path path = Files.createTempFile("points", ".bin");
+        try {
+            Files.write(path, bytes.array());
+
+            PointBuffer read = PointFile.read(path);
+
+            assertArrayEquals(new Point[]{new Point(1.5, -0.0), new Point(Double.NaN, 4.25)}, read.toPoints());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Test that files that are not point files, have another version or are shorter than their header says are
+     * rejected.
+     */
+    @Test
+    @DisplayName("Invalid point files")
+    void invalidFilesTest() throws IOException {
+        Path path = Files.createTempFile("points", ".bin");
+        try {
+            Files.write(path, new byte[]{'D', 'P', 'T'});
+            assertThrows(IOException.class, () -> PointFile.read(path));
+
+            ByteBuffer bytes = ByteBuffer.allocate(PointFile.HEADER_SIZE + 16).order(ByteOrder.LITTLE_ENDIAN);
+            bytes.put(new byte[]{'D', 'P', 'T', 'X'}).putInt(PointFile.VERSION).putLong(1);
+            Files.write(path, bytes.array());
+            assertThrows(IOException.class, () -> PointFile.read(path));
+
+            bytes.clear();
+            bytes.put(new byte[]{'D', 'P', 'T', 'S'}).putInt(PointFile.VERSION + 1).putLong(1);
+            Files.write(path, bytes.array());
+            assertThrows(IOException.class, () -> PointFile.read(path));
+
+            bytes.clear();
+            bytes.put(new byte[]{'D', 'P', 'T', 'S'}).putInt(PointFile.VERSION).putLong(2);
+            Files.write(path, bytes.array());
+            assertThrows(IOException.class, () -> PointFile.read(path));
+
+            bytes.clear();
+            bytes.put(new byte[]{'D', 'P', 'T', 'S'}).putInt(PointFile.VERSION).putLong(1);
+            Files.write(path, bytes.array());
+            assertEquals(1, PointFile.read(path).size());
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Test that an empty point file can be written and read.
+     */
+    @Test
+    @DisplayName("Empty point file")
+    void emptyFileTest() throws IOException {
+        Path path = Files.createTempFile("points", ".bin");
+        try {
+            PointFile.write(path, new PointBuffer(new double[0], new double[0]));
+            assertEquals(0, PointFile.read(path).size());
+            assertArrayEquals(new byte[]{'D', 'P', 'T', 'S'}, Arrays.copyOf(Files.readAllBytes(path), 4));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
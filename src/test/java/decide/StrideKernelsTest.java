@@ -0,0 +1,61 @@
+package decide;
+
+import decide.core.Kernels;
+import decide.core.ScalarStrideKernels;
+import decide.core.StrideKernels;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrideKernelsTest {
+
+    /**
+     * Test that unknown kernels fall back to the scalar kernels.
+     */
+    @Test
+    @DisplayName("Unknown kernels fall back to scalar")
+    void fallbackTest() {
+        assertTrue(Kernels.load("scalar") instanceof ScalarStrideKernels);
+        assertTrue(Kernels.load("unknown") instanceof ScalarStrideKernels);
+        assertNotNull(Kernels.stride());
+    }
+
+    /**
+     * Test that the vector kernels give exactly the same answers as the scalar kernels, for every number of windows
+     * up to several vectors, so that both full vectors and the windows left at the end are covered, and for the edge
+     * cases of the float format. The test suite runs with the jdk.incubator.vector module, so the vector kernels
+     * are loaded.
+     */
+    @Test
+    @DisplayName("Vector kernels match scalar kernels")
+    void vectorMatchesScalarTest() {
+        StrideKernels scalar = new ScalarStrideKernels();
+        StrideKernels vector = Kernels.load("vector");
+        assertFalse(vector instanceof ScalarStrideKernels);
+
+        Random random = new Random(17);
+        double[] specials = {0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 1e200, 1e-200};
+        double[] bounds = {0, 1, 2.5, 4, 9, -1, Double.NaN, Double.POSITIVE_INFINITY, 1e-170, 1e170};
+
+        for (int run = 0; run < 5000; run++) {
+            int numPoints = random.nextInt(40);
+            double[] xs = new double[numPoints];
+            double[] ys = new double[numPoints];
+            for (int i = 0; i < numPoints; i++) {
+                xs[i] = random.nextInt(9) - 4;
+                ys[i] = random.nextInt(9) - 4;
+                if (random.nextInt(50) == 0)
+                    xs[i] = specials[random.nextInt(specials.length)];
+            }
+            int stride = 1 + random.nextInt(5);
+            double bound = bounds[random.nextInt(bounds.length)];
+
+            assertEquals(scalar.anyDistanceGreaterThan(xs, ys, stride, bound),
+                    vector.anyDistanceGreaterThan(xs, ys, stride, bound));
+            assertEquals(scalar.anyDecrease(xs, stride), vector.anyDecrease(xs, stride));
+        }
+    }
+}
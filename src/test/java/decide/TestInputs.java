@@ -0,0 +1,92 @@
+package decide;
+
+import decide.core.CMV;
+import decide.core.LCM;
+import decide.core.PUM;
+import decide.core.Parameters;
+import decide.core.Point;
+
+import java.util.Random;
+
+/**
+ * Creates random but valid input for tests that compare two ways of computing the same result.
+ */
+public class TestInputs {
+
+    /**
+     * Creates random parameters that conform to the requirements specification for the given number of points.
+     */
+    static Parameters parameters(Random random, int numPoints) {
+        Parameters parameters = new Parameters();
+        parameters.LENGTH1 = random.nextDouble() * 4;
+        parameters.RADIUS1 = random.nextDouble() * 3;
+        parameters.EPSILON = random.nextDouble() * Math.PI;
+        parameters.AREA1 = random.nextDouble() * 4;
+        parameters.Q_PTS = 2 + random.nextInt(numPoints - 1);
+        parameters.QUADS = 1 + random.nextInt(3);
+        parameters.DIST = random.nextDouble() * 2;
+        parameters.N_PTS = 3 + random.nextInt(numPoints - 2);
+        parameters.K_PTS = 1 + random.nextInt(numPoints - 2);
+        parameters.A_PTS = 1 + random.nextInt((numPoints - 3) / 2);
+        parameters.B_PTS = 1 + random.nextInt(numPoints - 3 - parameters.A_PTS);
+        parameters.C_PTS = 1 + random.nextInt((numPoints - 3) / 2);
+        parameters.D_PTS = 1 + random.nextInt(numPoints - 3 - parameters.C_PTS);
+        parameters.E_PTS = 1 + random.nextInt((numPoints - 3) / 2);
+        parameters.F_PTS = 1 + random.nextInt(numPoints - 3 - parameters.E_PTS);
+        parameters.G_PTS = 1 + random.nextInt(numPoints - 2);
+        parameters.LENGTH2 = random.nextDouble() * 4;
+        parameters.RADIUS2 = random.nextDouble() * 3;
+        parameters.AREA2 = random.nextDouble() * 4;
+        return parameters;
+    }
+
+    /**
+     * Creates random points. The points are drawn from a small grid, so that repeated points, collinear points,
+     * vertical lines and points on the axes are common.
+     */
+    static Point[] points(Random random, int numPoints) {
+        Point[] points = new Point[numPoints];
+        for (int i = 0; i < numPoints; i++) {
+            if (i > 0 && random.nextInt(8) == 0) {
+                points[i] = points[i - 1];
+            } else {
+                points[i] = new Point(random.nextInt(9) - 4, random.nextInt(9) - 4);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Creates a random LCM, where NOTUSED is as common as ANDD and ORR together.
+     */
+    static LCM lcm(Random random) {
+        LCM lcm = new LCM();
+        for (int i = 0; i < LCM.LCM_SIZE; i++) {
+            for (int j = 0; j < LCM.LCM_SIZE; j++) {
+                int value = random.nextInt(4);
+                lcm.set(i, j, value == 0 ? LCM.Value.ANDD : value == 1 ? LCM.Value.ORR : LCM.Value.NOTUSED);
+            }
+        }
+        return lcm;
+    }
+
+    /**
+     * Creates a random PUV.
+     */
+    static boolean[] puv(Random random) {
+        boolean[] puv = new boolean[PUM.PUM_SIZE];
+        for (int i = 0; i < puv.length; i++)
+            puv[i] = random.nextInt(3) == 0;
+        return puv;
+    }
+
+    /**
+     * Copies every element of the CMV into a vector.
+     */
+    static boolean[] toArray(CMV cmv) {
+        boolean[] values = new boolean[CMV.CMV_SIZE];
+        for (int i = 0; i < CMV.CMV_SIZE; i++)
+            values[i] = cmv.get(i);
+        return values;
+    }
+}